@@ -2,8 +2,10 @@ package com.study.jpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 게시물 수 카운터 보정 등 주기적 작업 실행
 public class JpaApplication {
 
 	public static void main(String[] args) {
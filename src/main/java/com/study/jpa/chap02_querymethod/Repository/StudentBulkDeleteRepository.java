@@ -0,0 +1,22 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 대량 삭제를 여러 트랜잭션으로 나눠서 실행한다. (StudentRepository가 상속)
+// DELETE 한 번으로 수십만 건을 지우면 그동안 행 잠금이 유지되고 undo 로그가 커지므로
+// chunkSize건씩 각각 커밋한다. 중간에 실패하면 이미 커밋된 chunk는 삭제된 상태로 남는다.
+// 호출한 쪽의 트랜잭션에 참여하지 않으므로(NOT_SUPPORTED) 이미 조회해 둔 엔터티는 다시 조회해야 한다.
+public interface StudentBulkDeleteRepository {
+
+    int DEFAULT_CHUNK_SIZE = 10_000;
+
+    // 이름이 일치하는 학생을 chunkSize건씩 삭제하고 전체 삭제 건수를 반환
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    int deleteByNameInChunks(String name, int chunkSize);
+
+    // 전체 학생을 chunkSize건씩 삭제하고 전체 삭제 건수를 반환
+    // (deleteAll()은 모든 엔터티를 조회한 뒤 한 건씩 DELETE한다)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    int deleteAllInChunks(int chunkSize);
+}
@@ -0,0 +1,54 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+public class StudentBulkDeleteRepositoryImpl implements StudentBulkDeleteRepository {
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+
+    public StudentBulkDeleteRepositoryImpl(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        // chunk마다 새 트랜잭션으로 커밋
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public int deleteByNameInChunks(String name, int chunkSize) {
+        return deleteInChunks("SELECT s.id FROM Student s WHERE s.name = :name", name, chunkSize);
+    }
+
+    @Override
+    public int deleteAllInChunks(int chunkSize) {
+        return deleteInChunks("SELECT s.id FROM Student s", null, chunkSize);
+    }
+
+    // 삭제할 id를 chunkSize개 조회 -> id로 벌크 DELETE -> 커밋, 더 이상 남은 행이 없을 때까지 반복
+    // 엔터티를 영속성 컨텍스트에 올리지 않고 id만 다룬다.
+    private int deleteInChunks(String idQuery, String name, int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+        int total = 0;
+        int deleted;
+        do {
+            deleted = chunkTransaction.execute(status -> {
+                TypedQuery<UUID> query = entityManager.createQuery(idQuery, UUID.class)
+                        .setMaxResults(chunkSize);
+                if (name != null) query.setParameter("name", name);
+                List<UUID> ids = query.getResultList();
+                if (ids.isEmpty()) return 0;
+                return entityManager.createQuery("DELETE FROM Student s WHERE s.id IN :ids")
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+            });
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+}
@@ -0,0 +1,77 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// tbl_student의 이름/전공 n-gram FULLTEXT 인덱스 관리
+// JPA의 @Index로는 FULLTEXT 인덱스를 만들 수 없으므로 서버 시작 시 없으면 직접 만든다.
+// (운영 DB에 ALTER 권한이 없으면 resources/db/student_ngram_index.sql을 미리 실행)
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StudentNgramIndex {
+    private final JdbcTemplate jdbcTemplate;
+
+    // 인덱스 이름 -> 컬럼명
+    private static final Map<String, String> INDEXES = Map.of(
+            "ft_student_name", "stu_name",
+            "ft_student_major", "major"
+    );
+
+    @Value("${student.search.ngram-enabled:true}")
+    private boolean enabled;
+
+    // 인덱스가 준비되기 전까지는 LIKE로 검색한다.
+    private volatile boolean available = false;
+
+    // MySQL의 ngram_token_size (기본 2글자)
+    private volatile int tokenSize = 2;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIfMissing() {
+        if (!enabled) return;
+        try {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            // ngram 파서는 MySQL(5.7.6 이상)에만 있다.
+            if (!"MySQL".equalsIgnoreCase(database)) {
+                log.info("{}에서는 n-gram 인덱스를 사용하지 않고 LIKE로 학생을 검색합니다.", database);
+                return;
+            }
+            tokenSize = jdbcTemplate.queryForObject("SELECT @@ngram_token_size", Integer.class);
+
+            List<String> existing = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT index_name FROM information_schema.statistics" +
+                            " WHERE table_schema = DATABASE() AND table_name = 'tbl_student'", String.class);
+            INDEXES.forEach((name, column) -> {
+                if (existing.stream().anyMatch(name::equalsIgnoreCase)) return;
+                log.info("학생 검색용 n-gram 인덱스 생성: {} ({})", name, column);
+                jdbcTemplate.execute("ALTER TABLE tbl_student ADD FULLTEXT INDEX " + name
+                        + " (" + column + ") WITH PARSER ngram");
+            });
+            available = true;
+        } catch (DataAccessException e) {
+            log.warn("학생 검색용 n-gram 인덱스를 사용할 수 없어 LIKE로 검색합니다: {}", e.getMessage());
+        }
+    }
+
+    // 인덱스가 있고, 검색어의 모든 단어가 n-gram 토큰 길이 이상일 때만 인덱스로 검색할 수 있다.
+    // (토큰보다 짧은 단어는 n-gram 인덱스에 없으므로 찾을 수 없음)
+    public boolean canSearch(String keyword) {
+        if (!available || keyword == null || keyword.isBlank()) return false;
+        for (String word : keyword.replace("\"", "").trim().split("\\s+")) {
+            if (word.codePointCount(0, word.length()) < tokenSize) return false;
+        }
+        return true;
+    }
+}
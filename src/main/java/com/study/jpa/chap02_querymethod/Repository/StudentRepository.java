@@ -5,16 +5,21 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.UUID;
 
-public interface StudentRepository extends JpaRepository<Student, String> {
+// 조회 메서드는 readOnly 트랜잭션 -> replica DB가 설정되어 있으면 replica에서 조회
+@Transactional(readOnly = true)
+public interface StudentRepository extends JpaRepository<Student, UUID>, StudentSearchRepository, StudentBulkDeleteRepository {
 
     List<Student> findByName(String name);
 
     List<Student> findByCityAndMajor(String city, String major);
 
-    List<Student> findByMajorContaining(String major); //Containing은 Like 절로 처리됨(포함되기만 하면 SELECT)
+    // findByMajorContaining: Containing은 Like 절로 처리됨(포함되기만 하면 SELECT)
+    // -> '%전공%'은 인덱스를 못 타므로 StudentSearchRepository에서 n-gram 인덱스로 검색한다.
 
 
     // 네이티브 쿼리 사용(쿼리 직접 사용)
@@ -41,11 +46,16 @@ public interface StudentRepository extends JpaRepository<Student, String> {
      // JPQL에서는 DB 테이블 컬럼명을 쓰는 게 아니라 Entity에 맞춰서 쓰면 된다!
     // DB 신경쓰지 말고 Entity에만 집중해서 쓸 것!
     // 무엇을 SELECT 해서 가지고 오느냐에 따라 반환 타입이 달라진다 (예: s -> List<Student> / s.city -> List<String>)
-     @Query("SELECT s FROM Student s WHERE s.name LIKE %:nm%")
-     List<Student> searchByNameWithJPQL(@Param("nm") String name);
+    // 예) @Query("SELECT s FROM Student s WHERE s.name LIKE %:nm%")
+    // 이름 검색(searchByNameWithJPQL)은 LIKE 대신 n-gram 인덱스를 사용하도록 StudentSearchRepository에서 구현
      
     // JPQL로 수정 삭제 쿼리 쓰기
-    @Modifying // 조회가 아닐 경우 무조건 붙여야 된다. SELECT 외에는 모두 변경이 일어나기 때문
+    // 벌크 DELETE는 엔터티를 조회하지 않고 DB에서 바로 삭제하므로 영속성 컨텍스트와 DB가 달라진다.
+    // flushAutomatically: 실행 전에 아직 반영 안 된 변경을 먼저 flush
+    // clearAutomatically: 실행 후 영속성 컨텍스트를 비워서 삭제된 엔터티가 다시 조회되지 않도록 함
+    // 반환값은 삭제된 행 수 (건수가 많으면 deleteByNameInChunks 사용)
+    @Transactional // 쓰기 작업은 primary DB로
+    @Modifying(clearAutomatically = true, flushAutomatically = true) // 조회가 아닐 경우 무조건 붙여야 된다. SELECT 외에는 모두 변경이 일어나기 때문
     @Query("DELETE FROM Student s WHERE s.name = ?1")
-    void deleteByNameWithJPQL(String name);
+    int deleteByNameWithJPQL(String name);
 }
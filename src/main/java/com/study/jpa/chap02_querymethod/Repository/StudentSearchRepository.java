@@ -0,0 +1,22 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.Student;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// 학생 이름/전공의 부분 문자열 검색 (StudentRepository, StudentPageRepository가 함께 상속)
+// 쿼리 메서드로 선언하면 LIKE '%단어%'가 되어 인덱스를 타지 못하고 테이블 전체를 읽는다.
+// 메서드 이름은 그대로 두고 구현(StudentSearchRepositoryImpl)에서 n-gram FULLTEXT 인덱스를 사용한다.
+public interface StudentSearchRepository {
+
+    // 전공에 특정 단어가 포함된 학생 조회
+    List<Student> findByMajorContaining(String major);
+
+    // 이름에 특정 단어가 포함된 학생 조회
+    List<Student> searchByNameWithJPQL(String name);
+
+    // 이름에 특정 단어가 포함된 학생 조회 + 페이징
+    Page<Student> findByNameContaining(String name, Pageable pageable);
+}
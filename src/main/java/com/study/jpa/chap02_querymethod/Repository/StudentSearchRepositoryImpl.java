@@ -0,0 +1,96 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 이름 뒤에 Impl이 붙은 클래스는 Spring Data가 StudentSearchRepository의 구현으로 사용한다.
+// n-gram FULLTEXT 인덱스를 쓸 수 있으면 MATCH ... AGAINST로 후보를 인덱스에서 찾고,
+// 인덱스가 없거나(MySQL이 아닌 DB) 검색어가 n-gram 토큰보다 짧으면 기존처럼 LIKE로 조회한다.
+@RequiredArgsConstructor
+public class StudentSearchRepositoryImpl implements StudentSearchRepository {
+    private final EntityManager entityManager;
+    private final StudentNgramIndex ngramIndex;
+
+    // 정렬 조건(엔터티 필드명) -> 컬럼명 (네이티브 쿼리라 직접 변환해야 한다)
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "stu_id",
+            "name", "stu_name",
+            "city", "city",
+            "major", "major"
+    );
+
+    @Override
+    public List<Student> findByMajorContaining(String major) {
+        return search("major", major, Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public List<Student> searchByNameWithJPQL(String name) {
+        return search("stu_name", name, Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    public Page<Student> findByNameContaining(String name, Pageable pageable) {
+        return search("stu_name", name, pageable);
+    }
+
+    private Page<Student> search(String column, String keyword, Pageable pageable) {
+        // MATCH는 후보를 인덱스에서 찾는 용도이고, 정확히 포함하는지는 LIKE로 한 번 더 확인한다.
+        // (n-gram 검색은 토큰 단위라 띄어쓰기 등이 다른 행도 찾을 수 있음)
+        boolean useIndex = ngramIndex.canSearch(keyword);
+        String where = useIndex
+                ? " WHERE MATCH(" + column + ") AGAINST(:phrase IN BOOLEAN MODE) AND " + column + " LIKE :pattern ESCAPE '!'"
+                : " WHERE " + column + " LIKE :pattern ESCAPE '!'";
+
+        Query query = bind(entityManager.createNativeQuery(
+                "SELECT * FROM tbl_student" + where + orderBy(pageable.getSort()), Student.class), keyword, useIndex);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        @SuppressWarnings("unchecked")
+        List<Student> content = query.getResultList();
+
+        // 마지막 페이지라서 개수를 알 수 있으면 count 쿼리는 생략된다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) bind(
+                entityManager.createNativeQuery("SELECT COUNT(*) FROM tbl_student" + where), keyword, useIndex)
+                .getSingleResult()).longValue());
+    }
+
+    private static Query bind(Query query, String keyword, boolean useIndex) {
+        query.setParameter("pattern", "%" + escapeLike(keyword) + "%");
+        if (useIndex) {
+            // 큰따옴표로 감싸면 n-gram 토큰이 연속해서 나오는 행만 찾는다. (구문 검색)
+            query.setParameter("phrase", "\"" + keyword.replace("\"", "") + "\"");
+        }
+        return query;
+    }
+
+    // LIKE의 와일드카드(%, _)를 일반 문자로 검색하도록 이스케이프
+    private static String escapeLike(String keyword) {
+        return keyword.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) return "";
+        return sort.stream()
+                .map(order -> {
+                    String column = COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("정렬할 수 없는 필드입니다: " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+}
@@ -5,6 +5,8 @@ import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UuidGenerator;
 
+import java.util.UUID;
+
 @Setter // 실무적 측면에서 setter는 신중하게 선택할 것(직접 변경하고자 하는 필드만 따로 설정하는 경우가 많음)
 // jpa에서는 setter를 사용하면 update가 진행되기 때문에 setter 사용은 지양한다(특히 id, name)
 @Getter @ToString
@@ -16,10 +18,14 @@ import org.hibernate.annotations.UuidGenerator;
 public class Student {
     @Id
     @Column(name = "stu_id")
-    @GeneratedValue(strategy = GenerationType.UUID) // Spring Boot3에서 JPA를 사용할 때 권장하는 문법
+//    @GeneratedValue(strategy = GenerationType.UUID) // Spring Boot3에서 JPA를 사용할 때 권장하는 문법
 //    @GeneratedValue(generator = "uid") // id가 String일 때 이 방식으로 자동 부여 strategy 지정 가능
 //    @GenericGenerator(name="uid", strategy = "uuid")
-    private String id;
+    // 랜덤 UUID(v4) 문자열(36자) 대신 시간순 UUIDv7을 사용한다.
+    // UUID 타입은 MySQL에서 binary(16)으로 저장된다. (PK 인덱스 끝에 순서대로 추가되고 크기도 절반 이하)
+    // 기존 varchar id 데이터는 db/student_uuid_v7.sql로 변환
+    @UuidV7
+    private UUID id;
 
     @Column(name = "stu_name", nullable = false)
     private String name;
@@ -0,0 +1,18 @@
+package com.study.jpa.chap02_querymethod.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// 엔터티의 UUID 타입 id에 붙이면 INSERT 전에 시간순으로 정렬되는 UUIDv7을 부여한다.
+// (@GeneratedValue 대신 사용, 생성 방식은 UuidV7Generator 참고)
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
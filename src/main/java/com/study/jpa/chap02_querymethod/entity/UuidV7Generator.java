@@ -0,0 +1,53 @@
+package com.study.jpa.chap02_querymethod.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+// UUIDv7 (RFC 9562) 생성기
+// 랜덤 UUID(v4)를 PK로 쓰면 INSERT마다 B-tree의 임의 위치에 끼워 넣게 되어 페이지 분할이 자주 일어난다.
+// v7은 앞 48비트가 밀리초 단위 시각이라 새 id가 항상 인덱스 끝쪽에 추가된다.
+//   [48비트 unix 밀리초][4비트 버전=7][12비트 순번][2비트 variant][62비트 랜덤]
+// 같은 밀리초 안에서는 12비트 순번을 증가시켜 생성 순서대로 정렬되도록 한다.
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static long lastMillis = -1;
+    private static int sequence;
+
+    public static synchronized UUID nextUuid() {
+        long millis = System.currentTimeMillis();
+        if (millis <= lastMillis) {
+            // 같은 밀리초(또는 시계가 뒤로 간 경우)면 마지막 시각을 유지하고 순번만 증가
+            // 순번을 다 쓰면 다음 밀리초 값을 미리 사용한다.
+            if (++sequence > MAX_SEQUENCE) {
+                lastMillis++;
+                sequence = 0;
+            }
+        } else {
+            lastMillis = millis;
+            // 순번 시작 값을 절반 범위 안에서 랜덤으로 정해 추측하기 어렵게 하면서 증가할 여유를 남긴다.
+            sequence = RANDOM.nextInt(MAX_SEQUENCE / 2);
+        }
+
+        long mostSigBits = (lastMillis << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
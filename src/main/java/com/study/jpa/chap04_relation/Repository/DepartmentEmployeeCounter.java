@@ -0,0 +1,104 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+// tbl_dept.employee_count(부서별 사원 수) 관리
+// 사원이 등록/삭제되거나 부서가 바뀌면 같은 트랜잭션 안에서
+// "employee_count = employee_count + 1" 형태의 UPDATE를 바로 실행한다.
+// 부서 엔터티나 사원 목록을 읽어서 더하지 않으므로 동시에 바뀌어도 값이 유실되지 않는다. (TagRepository.addUsageCount와 같은 방식)
+// 리포지토리뿐 아니라 엔터티의 setDepartment 변경 감지로 바뀌는 경우도 잡기 위해 Hibernate 이벤트 리스너로 등록한다.
+@Component
+@RequiredArgsConstructor
+public class DepartmentEmployeeCounter
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String SQL =
+            "UPDATE tbl_dept SET employee_count = employee_count + ? WHERE dept_id = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (!(event.getEntity() instanceof Employee employee)) return;
+        add(event.getSession(), employee.getDepartment(), 1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Employee)) return;
+        // 변경 전 상태가 없으면(분리 상태 엔터티를 바로 UPDATE 한 경우) 비교할 수 없으므로 건너뛴다.
+        if (event.getOldState() == null) return;
+
+        int index = departmentIndex(event.getPersister());
+        Department before = (Department) event.getOldState()[index];
+        Department after = (Department) event.getState()[index];
+        if (Objects.equals(idOf(before), idOf(after))) return;
+
+        add(event.getSession(), before, -1);
+        add(event.getSession(), after, 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!(event.getEntity() instanceof Employee)) return;
+        Department department = (Department) event.getDeletedState()[departmentIndex(event.getPersister())];
+        add(event.getSession(), department, -1);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private int departmentIndex(EntityPersister persister) {
+        return persister.getEntityMetamodel().getPropertyIndex("department");
+    }
+
+    // 프록시여도 getId()는 초기화(SELECT) 없이 번호만 꺼낸다.
+    private Long idOf(Department department) {
+        return department == null ? null : department.getId();
+    }
+
+    // 플러시 도중이므로 JPQL/네이티브 쿼리(자동 플러시 발생) 대신 현재 커넥션에서 JDBC로 직접 실행한다.
+    private void add(SharedSessionContractImplementor session, Department department, int delta) {
+        Long deptId = idOf(department);
+        if (deptId == null) return;
+
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(SQL);
+        try {
+            statement.setInt(1, delta);
+            statement.setLong(2, deptId);
+            jdbc.getResultSetReturn().executeUpdate(statement, SQL);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "부서 사원 수 갱신 실패", SQL);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 부서 조회 시 함께 가져올 연관관계 (호출하는 곳마다 필요한 만큼만 선택)
+// 부서별 인원 수만 필요하면 엔터티 대신 DepartmentRepository.findHeadCounts()를 사용한다.
+@Getter
+@AllArgsConstructor
+public enum DepartmentFetchPlan {
+    // 부서 정보만 (사원 목록은 지연 로딩)
+    DEPARTMENT_ONLY(null),
+    // 부서 + 사원 목록 (부서 수가 많으면 DepartmentRepository.findAllIncludesEmployees(Pageable) 사용)
+    WITH_EMPLOYEES(Department.WITH_EMPLOYEES);
+
+    private final String graphName; // 적용할 @NamedEntityGraph 이름 (null이면 엔터티 기본 설정)
+}
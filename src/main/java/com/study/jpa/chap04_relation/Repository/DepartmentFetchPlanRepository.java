@@ -0,0 +1,16 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// 조회 계획(DepartmentFetchPlan)을 호출할 때마다 지정하는 조회 메서드 (DepartmentRepository가 상속)
+// 선택한 연관관계는 지연 로딩 없이 같은 쿼리에서 조인해서 가져온다.
+public interface DepartmentFetchPlanRepository {
+
+    Optional<Department> findById(Long id, DepartmentFetchPlan plan);
+
+    List<Department> findAllById(Collection<Long> ids, DepartmentFetchPlan plan);
+}
@@ -0,0 +1,38 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class DepartmentFetchPlanRepositoryImpl implements DepartmentFetchPlanRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Department> findById(Long id, DepartmentFetchPlan plan) {
+        return Optional.ofNullable(entityManager.find(Department.class, id, hints(plan)));
+    }
+
+    // 사원 목록을 함께 가져오는 경우에도 Hibernate 6가 중복된 부서를 합쳐서 돌려준다.
+    @Override
+    public List<Department> findAllById(Collection<Long> ids, DepartmentFetchPlan plan) {
+        if (ids.isEmpty()) return List.of();
+        TypedQuery<Department> query = entityManager.createQuery(
+                "SELECT d FROM Department d WHERE d.id IN :ids ORDER BY d.id", Department.class);
+        hints(plan).forEach(query::setHint);
+        return query.setParameter("ids", ids).getResultList();
+    }
+
+    // fetchgraph: 그래프에 지정한 연관관계만 즉시 로딩하고 나머지는 지연 로딩으로 둔다.
+    private Map<String, Object> hints(DepartmentFetchPlan plan) {
+        if (plan.getGraphName() == null) return Map.of();
+        return Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(plan.getGraphName()));
+    }
+}
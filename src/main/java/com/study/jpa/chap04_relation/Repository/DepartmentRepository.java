@@ -1,17 +1,79 @@
 package com.study.jpa.chap04_relation.Repository;
 
+import com.study.jpa.chap04_relation.dto.DepartmentHeadCount;
 import com.study.jpa.chap04_relation.entity.Department;
 import com.study.jpa.chap04_relation.entity.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>,
+        DepartmentFetchPlanRepository, DepartmentStreamRepository {
 
     //FETCH JOIN 문법 -> JPQL을 직접 작성해야 함
+    // Hibernate 6부터는 컬렉션 fetch join 결과에서 같은 부서가 중복되지 않도록 자동으로 합쳐준다. (DISTINCT 불필요)
+    // 전체 부서와 전체 사원을 한 번에 메모리에 올리므로 부서가 많으면 아래 페이징/스트림 버전을 사용할 것
     @Query("SELECT d FROM Department d JOIN FETCH d.employees")
     List<Department> findAllIncludesEmployees();
 
+    // 컬렉션을 fetch join 하면서 Pageable을 넘기면 Hibernate가 LIMIT 없이 전체를 조회한 뒤 메모리에서 잘라낸다.
+    // (hibernate.query.fail_on_pagination_over_collection_fetch 설정으로 이런 쿼리는 예외가 나도록 막아둠)
+    // 그래서 페이징은 부서 번호에만 적용하고, 해당 번호의 부서만 사원과 함께 fetch join으로 가져온다.
+    default Page<Department> findAllIncludesEmployees(Pageable pageable) {
+        Page<Long> idPage = findIdPage(pageable);
+        if (idPage.isEmpty()) return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
 
+        // IN 절 조회 결과는 순서가 보장되지 않으므로 번호 페이지의 정렬 순서대로 다시 맞춘다.
+        Map<Long, Department> departments = findAllIncludesEmployeesByIdIn(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+        List<Department> content = idPage.getContent().stream()
+                .map(departments::get)
+                .filter(Objects::nonNull) // 번호 조회 이후에 삭제된 부서 제외
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, idPage.getTotalElements());
+    }
+
+    // 부서 번호 페이지 (정렬 조건은 Pageable의 Sort가 뒤에 붙는다)
+    @Query(value = "SELECT d.id FROM Department d", countQuery = "SELECT COUNT(d) FROM Department d")
+    Page<Long> findIdPage(Pageable pageable);
+
+    // 사원이 없는 부서도 포함하도록 LEFT JOIN
+    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.employees WHERE d.id IN :ids")
+    List<Department> findAllIncludesEmployeesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 부서별 인원 수: 사원 목록을 로딩하지 않고 GROUP BY 한 번으로 (부서 번호, 이름, 인원 수)만 가져온다.
+    // 사원이 없는 부서도 0명으로 포함
+    @Query("SELECT d.id AS deptId, d.name AS name, COUNT(e.id) AS employeeCount" +
+            " FROM Department d LEFT JOIN d.employees e" +
+            " GROUP BY d.id, d.name ORDER BY d.id")
+    List<DepartmentHeadCount> findHeadCounts();
+
+    // 부서별 인원 수를 비정규화 컬럼(employee_count)에서 바로 읽는다. (사원 테이블을 조인/집계하지 않음)
+    // 값은 DepartmentEmployeeCounter가 사원 변경 시 함께 갱신한다.
+    @Query("SELECT d.id AS deptId, d.name AS name, d.employeeCount AS employeeCount" +
+            " FROM Department d ORDER BY d.id")
+    List<DepartmentHeadCount> findHeadCountsFromCounter();
+
+    // 사원 수 컬럼을 실제 사원 수로 다시 맞춘다. (벌크 UPDATE/DELETE나 직접 SQL로 사원을 바꾼 뒤 실행)
+    // 맞지 않던 부서 수를 반환
+    // 배치 작업 등 트랜잭션 밖에서 바로 호출해도 실행되도록 자체 트랜잭션을 가진다.
+    @Transactional // 쓰기 작업은 primary DB로
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE tbl_dept d SET employee_count =" +
+            " (SELECT COUNT(*) FROM tbl_emp e WHERE e.dept_id = d.dept_id)" +
+            " WHERE employee_count <> (SELECT COUNT(*) FROM tbl_emp e WHERE e.dept_id = d.dept_id)",
+            nativeQuery = true)
+    int reconcileEmployeeCounts();
 }
@@ -0,0 +1,15 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+
+import java.util.stream.Stream;
+
+// 전체 부서를 사원과 함께 앞에서부터 한 번만 읽는 스트림 조회 (집계, 리포트 작업용 / DepartmentRepository가 상속)
+public interface DepartmentStreamRepository {
+
+    // 부서 번호 순으로 부서 하나씩 (사원 목록이 채워진 상태로) 넘겨준다.
+    // fetchSize: 한 번에 DB에서 가져올 행 수 (MySQL은 Integer.MIN_VALUE여야 한 행씩 스트리밍)
+    // 트랜잭션 안에서 호출하고, 다 읽은 부서는 호출한 쪽에서 detach해야 영속성 컨텍스트에 쌓이지 않는다.
+    // 스트림은 반드시 닫아야 한다. (try-with-resources)
+    Stream<Department> streamAllIncludesEmployees(int fetchSize);
+}
@@ -0,0 +1,25 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DepartmentStreamRepositoryImpl implements DepartmentStreamRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Department> streamAllIncludesEmployees(int fetchSize) {
+        // 부서 번호 순으로 정렬해야 Hibernate가 연속된 행(부서 x 사원)을 부서 하나로 묶어서 넘겨준다.
+        return entityManager.createQuery(
+                        "SELECT d FROM Department d LEFT JOIN FETCH d.employees e ORDER BY d.id, e.id",
+                        Department.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                // 변경 감지용 스냅샷을 만들지 않는다.
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,17 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 사원 조회 시 함께 가져올 연관관계 (호출하는 곳마다 필요한 만큼만 선택)
+@Getter
+@AllArgsConstructor
+public enum EmployeeFetchPlan {
+    // 사원 정보만 (부서는 지연 로딩 프록시)
+    EMPLOYEE_ONLY(null),
+    // 사원 + 부서 (부서 이름을 함께 보여줄 때 - 사원마다 부서를 따로 조회하는 N+1 방지)
+    WITH_DEPARTMENT(Employee.WITH_DEPARTMENT);
+
+    private final String graphName; // 적용할 @NamedEntityGraph 이름 (null이면 엔터티 기본 설정)
+}
@@ -0,0 +1,18 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Employee;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// 조회 계획(EmployeeFetchPlan)을 호출할 때마다 지정하는 조회 메서드 (EmployeeRepository가 상속)
+// 선택한 연관관계는 지연 로딩 없이 같은 쿼리에서 조인해서 가져온다.
+public interface EmployeeFetchPlanRepository {
+
+    Optional<Employee> findById(Long id, EmployeeFetchPlan plan);
+
+    List<Employee> findAllById(Collection<Long> ids, EmployeeFetchPlan plan);
+
+    List<Employee> findByDepartmentId(Long deptId, EmployeeFetchPlan plan);
+}
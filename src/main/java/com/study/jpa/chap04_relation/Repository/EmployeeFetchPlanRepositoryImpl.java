@@ -0,0 +1,50 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class EmployeeFetchPlanRepositoryImpl implements EmployeeFetchPlanRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Employee> findById(Long id, EmployeeFetchPlan plan) {
+        return Optional.ofNullable(entityManager.find(Employee.class, id, hints(plan)));
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<Long> ids, EmployeeFetchPlan plan) {
+        if (ids.isEmpty()) return List.of();
+        return withPlan(entityManager.createQuery(
+                        "SELECT e FROM Employee e WHERE e.id IN :ids ORDER BY e.id", Employee.class), plan)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<Employee> findByDepartmentId(Long deptId, EmployeeFetchPlan plan) {
+        return withPlan(entityManager.createQuery(
+                        "SELECT e FROM Employee e WHERE e.department.id = :deptId ORDER BY e.id", Employee.class), plan)
+                .setParameter("deptId", deptId)
+                .getResultList();
+    }
+
+    // fetchgraph: 그래프에 지정한 연관관계만 즉시 로딩하고 나머지는 지연 로딩으로 둔다.
+    private Map<String, Object> hints(EmployeeFetchPlan plan) {
+        if (plan.getGraphName() == null) return Map.of();
+        return Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(plan.getGraphName()));
+    }
+
+    private <T> TypedQuery<T> withPlan(TypedQuery<T> query, EmployeeFetchPlan plan) {
+        hints(plan).forEach(query::setHint);
+        return query;
+    }
+}
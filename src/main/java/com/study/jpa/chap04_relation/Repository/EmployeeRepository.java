@@ -3,6 +3,6 @@ package com.study.jpa.chap04_relation.Repository;
 import com.study.jpa.chap04_relation.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeFetchPlanRepository {
 
 }
@@ -0,0 +1,8 @@
+package com.study.jpa.chap04_relation.dto;
+
+// 부서별 인원 수 조회용 프로젝션 (사원 엔터티를 로딩하지 않는다)
+public interface DepartmentHeadCount {
+    Long getDeptId();
+    String getName();
+    long getEmployeeCount();
+}
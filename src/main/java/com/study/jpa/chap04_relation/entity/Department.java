@@ -2,6 +2,7 @@ package com.study.jpa.chap04_relation.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,8 +15,11 @@ import java.util.List;
 @ToString(exclude = {"employees"})
 @Builder
 @Entity
+// 부서를 조회할 때 사원 목록까지 한 번에 조인해서 가져오는 조회 계획 (DepartmentFetchPlan.WITH_EMPLOYEES)
+@NamedEntityGraph(name = Department.WITH_EMPLOYEES, attributeNodes = @NamedAttributeNode("employees"))
 @Table(name = "tbl_dept")
 public class Department {
+    public static final String WITH_EMPLOYEES = "Department.withEmployees";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,11 +29,23 @@ public class Department {
     @Column(name = "dept_name", nullable = false)
     private String name;
 
+    // 소속 사원 수 (사원 목록을 로딩하지 않고 인원 수를 보여주기 위한 비정규화 컬럼)
+    // 사원의 부서가 바뀔 때 DepartmentEmployeeCounter가 UPDATE 한 번으로 증감하므로 엔터티에서는 읽기만 한다.
+    // (엔터티 값은 조회 시점 기준이고, JPQL 벌크 UPDATE/DELETE로 사원을 바꾸면 반영되지 않으므로
+    //  그 후에는 DepartmentRepository.reconcileEmployeeCounts()로 다시 맞출 것)
+    @Setter(AccessLevel.NONE)
+    @ColumnDefault("0")
+    @Column(name = "employee_count", nullable = false, insertable = false, updatable = false)
+    private long employeeCount;
+
     // 양방향 맵핑에서는 상대방 엔터티의 갱신에 관여할 수 없다. (실제 테이블에는 존재하지 않는 가상의 컬럼이다)
     // 단순히 읽기 전용(조회)으로만 사용해야 한다.
     // mappedBy에는 상대방 엔터티의 조인되는 필드명을 작성한다.
     // 관계의 주인은 employee(foreignkey를 가짐, 양 엔터티 갱신에 관여 가능)이며,
     // mappedBy는 employee의 정보에 따라 리스트를 보여주는 것 뿐이다.
+    // 부서 목록도 페이징해서 조회하므로(findAll(Pageable), findAllIncludesEmployees(Pageable)) SUBSELECT를 쓰지 않는다.
+    // SUBSELECT는 부서를 조회했던 쿼리에서 LIMIT/OFFSET을 빼고 서브쿼리로 다시 실행해서 모든 부서의 사원을 읽어 온다.
+    // 대신 배치 조회(hibernate.default_batch_fetch_size)로 조회된 부서 번호를 IN 절로 묶어서 그 부서의 사원만 가져온다.
     @OneToMany(mappedBy = "department") // 관계를 맺고 있는 상대 엔터티의 필드명 명시
     private List<Employee> employees = new ArrayList<>(); // 초기화 필요(NPE(Null Pointer Exception) 방지)
 }
@@ -12,8 +12,11 @@ import lombok.*;
 @ToString(exclude = {"department"})
 @Builder
 @Entity
+// 사원을 조회할 때 부서까지 한 번에 조인해서 가져오는 조회 계획 (EmployeeFetchPlan.WITH_DEPARTMENT)
+@NamedEntityGraph(name = Employee.WITH_DEPARTMENT, attributeNodes = @NamedAttributeNode("department"))
 @Table(name = "tbl_emp")
 public class Employee {
+    public static final String WITH_DEPARTMENT = "Employee.withDepartment";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
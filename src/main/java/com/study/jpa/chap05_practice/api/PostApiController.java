@@ -1,6 +1,9 @@
 package com.study.jpa.chap05_practice.api;
 
 import com.study.jpa.chap05_practice.dto.*;
+import com.study.jpa.chap05_practice.service.PostBulkImporter;
+import com.study.jpa.chap05_practice.service.PostExporter;
+import com.study.jpa.chap05_practice.service.PostSearchIndexer;
 import com.study.jpa.chap05_practice.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,16 +13,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @Tag(name = "post API", description = "게시물 조회, 등록 및 수정, 삭제 api입니다.")
 // swagger 라이브러리 설치 후 쓸 수 있는 기능(API 명세를 쉽게 관리 가능)
@@ -29,35 +42,139 @@ import java.util.List;
 @RequestMapping("/api/v1/posts")
 public class PostApiController {
     private final PostService postService;
+    private final PostResponseCache responseCache;
+    private final PostSearchIndexer searchIndexer;
+    private final PostBulkImporter bulkImporter;
+    private final PostExporter exporter;
 
     // 리소스: 게시물 (Post)
     /*
-        게시물 목록 조회: /posts            - GET, param: (page, size)
+        게시물 목록 조회: /posts            - GET, param: (page, size) 또는 (after, size)
+        해시태그별 조회:  /posts            - GET, param: (tag, after, size)
+        게시물 검색:     /posts/search     - GET, param: (q, page, size)
+        검색 색인 재생성: /posts/search/rebuild - POST (header: X-Admin-Token)
+        전체 내보내기:   /posts/export     - GET, param: (format=ndjson|csv)
         게시물 개별 조회: /posts/{id}       - GET
         게시물 등록:     /posts            - POST, payload: (writer, title, content, hashTags)
-        게시물 수정:     /posts            - PATCH
+        게시물 일괄 등록: /posts/bulk       - POST, payload: 게시물 JSON 배열 또는 NDJSON(한 줄에 게시물 하나)
+        게시물 수정:     /posts            - PUT, PATCH (header: If-Match)
         게시물 삭제:     /posts/{id}       - DELETE
      */
 
+    // after 파라미터가 있으면 커서 모드로 조회한다. (?after=&size=10 -> 첫 페이지, 응답의 nextCursor를 다음 after로 전달)
+    // 커서 모드는 페이지 버튼 정보(pageInfo)와 count 쿼리 없이 다음 목록만 이어서 조회한다.
+    // tag 파라미터가 있으면 해당 해시태그가 달린 게시물만 커서 모드로 조회한다.
+    // 조회 결과는 직렬화된 JSON으로 캐싱되며, If-None-Match 헤더가 ETag와 같으면 304로 응답한다.
     @GetMapping
-    public ResponseEntity<?> list(PageDTO pageDTO) {
-        log.info("/api/v1/posts?page={}&size={}", pageDTO.getPage(), pageDTO.getSize());
-        PostListResponseDTO posts = postService.getPosts(pageDTO);
+    public ResponseEntity<?> list(
+            PageDTO pageDTO,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String tag
+    ) {
+        int size = pageDTO.getSize();
+        try {
+            if (tag != null) {
+                log.info("/api/v1/posts?tag={}&after={}&size={}", tag, after, size);
+                return toResponse(responseCache.getList(
+                        "tag=" + tag + "&after=" + after + "&size=" + size,
+                        () -> postService.getPostsByTag(tag, after, size)));
+            }
+
+            if (after != null) {
+                log.info("/api/v1/posts?after={}&size={}", after, size);
+                return toResponse(responseCache.getList(
+                        "after=" + after + "&size=" + size,
+                        () -> postService.getPostsAfter(after, size)));
+            }
+
+            log.info("/api/v1/posts?page={}&size={}", pageDTO.getPage(), size);
+            return toResponse(responseCache.getList(
+                    "page=" + pageDTO.getPage() + "&size=" + size,
+                    () -> postService.getPosts(pageDTO)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("서버 에러 원인: " + e.getMessage());
+        }
+    }
+
+    // 제목/내용 검색 (관련도 순, page/size 페이징)
+    // 검색 결과는 색인 갱신 시점에 따라 달라지므로 응답 캐시를 사용하지 않는다.
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) String q, PageDTO pageDTO) {
+        log.info("/api/v1/posts/search?q={}&page={}&size={}", q, pageDTO.getPage(), pageDTO.getSize());
+        try {
+            return ResponseEntity.ok().body(postService.search(q, pageDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("서버 에러 원인: " + e.getMessage());
+        }
+    }
+
+    // 검색 색인 전체 재생성 (색인이 손상되었거나 DB를 직접 수정한 경우)
+    // 전체 게시물을 다시 읽는 무거운 작업이므로 관리자 토큰(X-Admin-Token 헤더)이 맞아야 하고,
+    // 이미 실행 중이거나 최소 간격(post.search.rebuild-min-interval-ms) 안에 다시 요청하면 429로 거부한다.
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken
+    ) {
+        log.info("/api/v1/posts/search/rebuild: POST!!!");
+        if (!searchIndexer.isRebuildAllowed(adminToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("검색 색인 재생성 권한이 없습니다.");
+        }
+        try {
+            return ResponseEntity.ok().body(searchIndexer.rebuildOnRequest());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("서버 에러 원인: " + e.getMessage());
+        }
+    }
+
+    // 전체 게시물 내보내기: 조회 결과를 메모리에 모으지 않고 읽는 대로 응답 본문에 쓴다.
+    // 본문은 컨트롤러가 반환된 뒤 별도 스레드에서 쓰이므로 트랜잭션은 PostExporter.export 안에서 시작한다.
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(defaultValue = "ndjson") String format) {
+        log.info("/api/v1/posts/export?format={}", format);
+        PostExporter.Format exportFormat;
+        try {
+            exportFormat = PostExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("format은 ndjson 또는 csv만 가능합니다.");
+        }
 
-        return ResponseEntity.ok().body(posts);
+        StreamingResponseBody body = out -> exporter.export(out, exportFormat);
+        boolean csv = exportFormat == PostExporter.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "posts.csv" : "posts.ndjson").build().toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> detail(@PathVariable Long id) {
         log.info("/api/v1/posts/{}: GET!!!", id);
         try {
-            PostDetailResponseDTO dto = postService.getDetail(id);
-            return ResponseEntity.ok().body(dto);
+            return toResponse(responseCache.getDetail(id, () -> postService.getDetail(id)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // 캐싱된 JSON을 그대로 응답 본문으로 사용
+    // ETag가 요청의 If-None-Match와 같으면 Spring이 본문 없이 304 Not Modified로 응답한다.
+    private static ResponseEntity<byte[]> toResponse(PostResponseCache.CachedResponse response) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.getEtag())
+                .body(response.getBody());
+    }
+
     @Operation(summary = "게시물 등록", description = "게시물 작성 및 등록을 담당하는 메서드입니다.")
     @Parameters({
             @Parameter(name = "writer", description = "게시물의 작성자 이름을 쓰세요!", example = "김뽀삐", required = true),
@@ -87,6 +204,20 @@ public class PostApiController {
         return ResponseEntity.ok().body(responseDTO);
     }
 
+    @Operation(summary = "게시물 일괄 등록", description = "게시물 JSON 배열 또는 NDJSON 본문을 읽으면서 chunk 단위로 저장합니다. "
+            + "검증에 실패한 항목은 건너뛰고 응답의 failures에 담습니다.")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> bulkCreate(HttpServletRequest request) {
+        log.info("/api/v1/posts/bulk POST!!! - {} bytes", request.getContentLengthLong());
+        try {
+            // @RequestBody로 받으면 본문 전체가 메모리에 올라가므로 입력 스트림을 그대로 넘긴다.
+            return ResponseEntity.ok().body(bulkImporter.importPosts(request.getInputStream()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("서버 에러 원인: " + e.getMessage());
+        }
+    }
+
     // 입력값 검증(Validation)의 결과를 처리해 주는 전역 메서드
     private static ResponseEntity<List<FieldError>> getValidatedResult(BindingResult result) {
         if (result.hasErrors()) { // 입력값 검증 단계에서 문제가 있었다면 true
@@ -99,25 +230,56 @@ public class PostApiController {
         return null;
     }
 
-    @Operation(summary = "게시글 수정", description = "게시물 수정을 담당하는 메서드입니다.")
+    @Operation(summary = "게시글 수정", description = "게시물 수정을 담당하는 메서드입니다. PUT은 제목/내용 전체 교체, PATCH는 보낸 값만 수정합니다. "
+            + "조회 응답의 ETag를 If-Match 헤더로 보내면 그 사이에 다른 수정이 있었을 때 412로 거부합니다.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "수정 완료!",
+            @ApiResponse(responseCode = "200", description = "수정 완료! (ETag 헤더에 새 버전)",
                     content = @Content(schema = @Schema(implementation = PostDetailResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "입력값 검증 실패."),
-            @ApiResponse(responseCode = "404", description = "NOT FOUND")
+            @ApiResponse(responseCode = "404", description = "NOT FOUND"),
+            @ApiResponse(responseCode = "409", description = "다른 요청이 먼저 수정함 (본문의 version 불일치)"),
+            @ApiResponse(responseCode = "412", description = "다른 요청이 먼저 수정함 (If-Match 불일치)")
     })
     @RequestMapping(method = {RequestMethod.PUT, RequestMethod.PATCH}) // 요청 방식 두 가지를 한번에 처리하려면 이렇게 작성
     public ResponseEntity<?> update(
             @Validated @RequestBody PostModifyDTO dto,
             BindingResult result,
-            HttpServletRequest request
+            HttpServletRequest request,
+            // 응답에 해시태그가 필요 없으면 false로 보내서 태그 조회를 생략
+            @RequestParam(defaultValue = "true") boolean includeTags,
+            // 조회 응답의 ETag("글번호-버전"). 있으면 본문의 version보다 우선하고, *이면 버전을 확인하지 않는다.
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        log.info("/api/v1/posts {} - payload: {}", request.getMethod(), dto);
+        log.info("/api/v1/posts {} - payload: {}, If-Match: {}", request.getMethod(), dto, ifMatch);
         ResponseEntity<List<FieldError>> fieldErrors = getValidatedResult(result);
         if (fieldErrors != null) return fieldErrors;
-        PostDetailResponseDTO responseDTO = postService.modify(dto);
 
-        return ResponseEntity.ok().body(responseDTO);
+        if (ifMatch != null && "*".equals(ifMatch.trim())) {
+            dto.setVersion(null); // 게시물이 존재하기만 하면 수정
+        } else if (ifMatch != null) {
+            Optional<Long> version = PostResponseCache.versionOf(ifMatch, dto.getPostNo());
+            // 다른 게시물의 ETag이거나 형식이 맞지 않으면 어떤 버전과도 일치할 수 없다.
+            if (version.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body("If-Match 헤더가 " + dto.getPostNo() + "번 게시물의 ETag가 아닙니다.");
+            }
+            dto.setVersion(version.get());
+        }
+
+        boolean partial = RequestMethod.PATCH.name().equals(request.getMethod());
+        try {
+            PostDetailResponseDTO responseDTO = postService.modify(dto, partial, includeTags);
+            return ResponseEntity.ok()
+                    .eTag("\"" + PostResponseCache.detailEtag(dto.getPostNo(), responseDTO.getVersion()) + "\"")
+                    .body(responseDTO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .body(dto.getPostNo() + "번 게시물이 다른 요청에 의해 먼저 수정되었습니다. 다시 조회 후 수정해 주세요.");
+        }
     }
 
     // 게시물 삭제
@@ -132,7 +294,9 @@ public class PostApiController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
         log.info("/api/v1/posts/{} :DELETE!!!", id);
-        postService.deletePost(id);
+        if (!postService.deletePost(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(id + "번 게시물이 존재하지 않습니다.");
+        }
         return ResponseEntity.ok().body("SUCCESS");
     }
 }
@@ -0,0 +1,124 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.service.PostChangedEvent;
+import com.study.jpa.chap05_practice.service.PostsImportedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// 게시물 조회 응답을 JSON으로 직렬화된 상태(byte[])로 보관하는 캐시
+// 같은 요청이 다시 오면 DB 조회와 Jackson 직렬화를 모두 건너뛰고, ETag가 같으면 304만 응답한다.
+// 게시물이 등록/수정/삭제되면 커밋 이후에 관련 응답을 제거한다.
+@Component
+@RequiredArgsConstructor
+public class PostResponseCache {
+    private final ObjectMapper objectMapper;
+
+    @Value("${post.response-cache.max-entries:1000}")
+    private int maxEntries;
+
+    // 가장 오래 사용하지 않은 응답부터 제거하는 LRU 맵 (accessOrder = true)
+    private final Map<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // 캐시가 비워질 때마다 증가 -> 비우기 전에 읽은 (오래된) 응답이 비운 후에 저장되는 것을 막는다.
+    private final AtomicLong generation = new AtomicLong();
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private byte[] body; // 직렬화된 JSON
+        private String etag;
+    }
+
+    // 게시물 상세 응답 - ETag는 글 번호와 버전으로 만든다. ("글번호-버전")
+    // 수정 요청의 If-Match 헤더로 그대로 보내면 조회한 이후에 다른 수정이 있었는지 확인할 수 있다.
+    public CachedResponse getDetail(Long postNo, Callable<PostDetailResponseDTO> loader) throws Exception {
+        return get(detailKey(postNo), loader, dto -> detailEtag(postNo, dto.getVersion()));
+    }
+
+    // 처음에는 updatedDate로 만들었지만, 같은 시각(정밀도 단위) 안에 두 번 수정되면 내용이 달라도 ETag가 같아진다.
+    // version은 UPDATE마다 반드시 1씩 증가하므로 강한 ETag로 쓸 수 있고, 응답 DTO에 updatedDate를 따로 들고 있을 필요도 없다.
+    public static String detailEtag(Long postNo, Long version) {
+        return postNo + "-" + version;
+    }
+
+    // If-Match 헤더에서 버전을 꺼낸다. (형식이 다르거나 다른 게시물의 ETag면 빈 값)
+    // If-Match는 강한 비교만 허용하므로 약한 ETag(W/"...")도 일치하지 않는 것으로 본다.
+    public static Optional<Long> versionOf(String ifMatch, Long postNo) {
+        String etag = ifMatch.trim();
+        if (etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) return Optional.empty();
+        etag = etag.substring(1, etag.length() - 1);
+
+        String prefix = postNo + "-";
+        if (!etag.startsWith(prefix)) return Optional.empty();
+        try {
+            return Optional.of(Long.parseLong(etag.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    // 게시물 목록 응답 - 목록은 여러 게시물로 구성되므로 ETag는 JSON 내용의 해시로 만든다.
+    public CachedResponse getList(String key, Callable<?> loader) throws Exception {
+        return get("list:" + key, loader, null);
+    }
+
+    private <T> CachedResponse get(String key, Callable<T> loader, Function<T, String> etagOf) throws Exception {
+        synchronized (cache) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+
+        long loadedGeneration = generation.get();
+        T value = loader.call();
+        byte[] body = objectMapper.writeValueAsBytes(value);
+        String etag = (etagOf != null) ? etagOf.apply(value) : DigestUtils.md5DigestAsHex(body);
+        CachedResponse response = new CachedResponse(body, "\"" + etag + "\"");
+
+        synchronized (cache) {
+            if (generation.get() == loadedGeneration) cache.put(key, response);
+        }
+        return response;
+    }
+
+    private static String detailKey(Long postNo) {
+        return "detail:" + postNo;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.remove(detailKey(event.getPostNo()));
+            // 목록은 어느 페이지에 영향이 있는지 알 수 없으므로 모두 제거
+            cache.keySet().removeIf(key -> key.startsWith("list:"));
+        }
+    }
+
+    // 일괄 등록은 새 게시물만 추가되므로 상세 응답은 그대로 두고 목록만 제거한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.keySet().removeIf(key -> key.startsWith("list:"));
+        }
+    }
+}
@@ -6,6 +6,9 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.OptionalLong;
 
 @Getter @Setter @ToString
 public class PageResponseDTO {
@@ -34,4 +37,28 @@ public class PageResponseDTO {
         this.prev = startPage > 1;
         this.next = endPage < realEnd;
     }
+
+    // count 쿼리 없이 조회한 Slice와 전체 개수 제공자로 페이지 정보를 만든다.
+    // 전체 개수를 알 수 없으면 totalCount는 -1이고, 다음 페이지 존재 여부(hasNext)로만 버튼을 구성한다.
+    public PageResponseDTO(Slice<?> sliceData, TotalCountProvider countProvider) {
+        this.currentPage = sliceData.getNumber() + 1;
+        this.endPage = (int) (Math.ceil((double) currentPage/PAGE_COUNT) * PAGE_COUNT);
+        this.startPage = endPage - PAGE_COUNT + 1;
+        this.prev = startPage > 1;
+
+        OptionalLong total = countProvider.getTotalCount();
+        if (total.isPresent()) {
+            this.totalCount = (int) total.getAsLong();
+            // 마지막 페이지 번호
+            int realEnd = (int) Math.ceil((double) totalCount / sliceData.getSize());
+            if (realEnd < this.endPage) this.endPage = Math.max(realEnd, startPage);
+            this.next = endPage < realEnd;
+        } else {
+            this.totalCount = -1;
+            // 알 수 있는 마지막 페이지는 현재 페이지 또는 바로 다음 페이지까지
+            int knownEnd = sliceData.hasNext() ? currentPage + 1 : currentPage;
+            if (knownEnd < this.endPage) this.endPage = knownEnd;
+            this.next = endPage < knownEnd;
+        }
+    }
 }
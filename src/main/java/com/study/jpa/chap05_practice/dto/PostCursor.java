@@ -0,0 +1,43 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 커서(keyset) 페이징에서 "어디까지 읽었는지"를 나타내는 값 (작성 시간, 글 번호)
+// 클라이언트에게는 내부 구조를 알 수 없는 문자열(Base64)로만 전달한다.
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class PostCursor {
+
+    private LocalDateTime createDate;
+    private Long postNo;
+
+    public static PostCursor of(PostSummary post) {
+        return new PostCursor(post.getCreateDate(), post.getId());
+    }
+
+    public String encode() {
+        String raw = createDate + "," + postNo;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 잘못된 커서가 전달되면 IllegalArgumentException 발생
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",");
+            if (parts.length != 2) throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            return new PostCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException도 IllegalArgumentException의 하위 타입이다.
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
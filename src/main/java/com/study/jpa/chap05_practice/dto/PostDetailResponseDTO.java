@@ -1,13 +1,12 @@
 package com.study.jpa.chap05_practice.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import com.study.jpa.chap05_practice.entity.HashTag;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.study.jpa.chap05_practice.entity.Post;
 import lombok.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -20,20 +19,35 @@ public class PostDetailResponseDTO {
     private String writer;
     private String title;
     private String content;
-    private List<String> hashTags;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> hashTags; // 해시태그를 요청하지 않은 경우(수정 응답 등) null
 
     @JsonFormat(pattern = "yyyy/MM/dd")
     private LocalDateTime regDate;
 
+    // 수정 요청 시 If-Match 헤더(ETag) 또는 본문의 version으로 다시 보낸다.
+    private Long version;
+
     // 엔터티를 DTO로 변환하는 생성자
+    // 해시태그 이름은 tbl_hash_tag에 저장되어 있지 않으므로(tag_id만 보관)
+    // TagDictionary에서 변환한 이름 목록을 함께 전달받는다.
+    public PostDetailResponseDTO(Post post, List<String> hashTags) {
+        this.writer = post.getWriter();
+        this.title = post.getTitle();
+        this.content = post.getContent();
+        this.regDate = post.getCreateDate();
+        this.version = post.getVersion();
+        this.hashTags = hashTags;
+    }
 
-    public PostDetailResponseDTO(Post post) {
+    // 목록 조회용 프로젝션을 DTO로 변환하는 생성자
+    public PostDetailResponseDTO(PostSummary post, List<String> hashTags) {
         this.writer = post.getWriter();
         this.title = post.getTitle();
         this.content = post.getContent();
         this.regDate = post.getCreateDate();
-        this.hashTags = post.getHashTags().stream()
-                .map(HashTag::getTagName)
-                .collect(Collectors.toList());
+        this.version = post.getVersion();
+        this.hashTags = hashTags;
     }
 }
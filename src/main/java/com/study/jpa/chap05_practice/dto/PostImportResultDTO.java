@@ -0,0 +1,29 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 게시물 일괄 등록 결과
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostImportResultDTO {
+    private int imported; // 저장된 게시물 수
+    private int failed; // 저장하지 못한 게시물 수
+
+    // 실패한 항목과 원인 (요청 본문이 매우 커도 응답이 커지지 않도록 최대 개수까지만 담는다)
+    @Builder.Default
+    private List<Failure> failures = new ArrayList<>();
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Failure {
+        private int index; // 요청 본문에서 몇 번째 항목인지 (0부터 시작)
+        private String reason;
+    }
+}
@@ -1,5 +1,6 @@
 package com.study.jpa.chap05_practice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -14,5 +15,10 @@ import java.util.List;
 public class PostListResponseDTO {
     private int count; // 총 게시물 수
     private List<PostDetailResponseDTO> posts; // 게시물 렌더링 정보
-    private PageResponseDTO pageInfo; // 페이지네이션 정보
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageResponseDTO pageInfo; // 페이지네이션 정보 (page/size 모드)
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor; // 다음 목록 요청에 after로 넘길 커서 (커서 모드, 마지막이면 null)
 }
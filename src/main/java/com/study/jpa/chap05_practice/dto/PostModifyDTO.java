@@ -1,6 +1,7 @@
 package com.study.jpa.chap05_practice.dto;
 
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -9,13 +10,18 @@ import lombok.*;
 @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class PostModifyDTO {
-    @NotBlank
+    // PATCH(부분 수정)에서는 생략할 수 있으므로 null은 허용하고 공백만 막는다.
+    // PUT(전체 교체)에서 제목이 없으면 PostService에서 거부한다.
     @Size(min = 1, max = 20)
+    @Pattern(regexp = ".*\\S.*", message = "제목은 공백일 수 없습니다.")
     private String title;
 
     private String content;
     
     // Long 타입은 정수 타입이므로 애초에 공백이나 빈 문자열이 들어올 수 없는 타입이므로 NotNull로 선언
-
+    @NotNull
     private Long postNo;
+
+    // 수정하려는 게시물을 조회했을 때의 버전 (보내면 그 사이에 다른 수정이 있었는지 확인)
+    private Long version;
 }
@@ -0,0 +1,14 @@
+package com.study.jpa.chap05_practice.dto;
+
+import java.time.LocalDateTime;
+
+// 목록 조회용 게시물 프로젝션 (필요한 컬럼만 SELECT)
+// 엔터티가 아니므로 영속성 컨텍스트에 저장되지 않고, 변경 감지용 스냅샷도 만들지 않는다.
+public interface PostSummary {
+    Long getId();
+    String getWriter();
+    String getTitle();
+    String getContent();
+    LocalDateTime getCreateDate();
+    Long getVersion();
+}
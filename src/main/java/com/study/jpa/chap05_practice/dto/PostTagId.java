@@ -0,0 +1,7 @@
+package com.study.jpa.chap05_practice.dto;
+
+// 게시물 번호 - 태그 id 쌍 프로젝션 (태그 이름은 TagDictionary에서 id로 찾는다)
+public interface PostTagId {
+    Long getPostNo();
+    Long getTagId();
+}
@@ -0,0 +1,11 @@
+package com.study.jpa.chap05_practice.dto;
+
+import java.util.OptionalLong;
+
+// 목록의 전체 개수를 알려주는 역할
+// 매 요청마다 count(*) 쿼리를 실행하지 않고 캐싱된 값이나 근사값을 제공할 수 있다.
+// 전체 개수를 알 수 없으면 빈 값을 반환하고, 이 경우 PageResponseDTO는 다음 페이지 존재 여부만으로 버튼을 구성한다.
+public interface TotalCountProvider {
+
+    OptionalLong getTotalCount();
+}
@@ -2,24 +2,39 @@ package com.study.jpa.chap05_practice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// 게시물과 태그 사전(Tag)을 연결하는 엔터티 (게시물-태그 조인 테이블)
+// 태그 이름 문자열은 tbl_tag에만 저장하고 여기서는 tag_id만 가진다.
 @Setter
 @Getter
-@ToString(exclude = {"post"})
-@EqualsAndHashCode
+@ToString(exclude = {"post", "tag"})
+@EqualsAndHashCode(of = "id")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_hash_tag")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hashTag")
+// 태그별 게시물 조회(tag_id -> post_no 역순)에 사용하는 인덱스
+@Table(name = "tbl_hash_tag", indexes = @Index(name = "idx_hash_tag_tag_post", columnList = "tag_id, post_no"))
 public class HashTag {
 
+    // IDENTITY 전략은 INSERT를 실행해야 id를 알 수 있어서 JDBC 배치 INSERT가 불가능하다.
+    // 시퀀스(pooled) 전략으로 id를 50개씩 미리 할당받아 해시태그 INSERT를 한 번에 묶어서 보낸다.
+    // (MySQL은 시퀀스가 없으므로 Hibernate가 tbl_hash_tag_seq 테이블로 대신 처리한다)
+    // 기존 데이터가 있는 DB는 resources/db/hash_tag_sequence.sql로 시작 번호를 먼저 맞춰야 한다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hash_tag_seq_generator")
+    @SequenceGenerator(name = "hash_tag_seq_generator", sequenceName = "tbl_hash_tag_seq", allocationSize = 50)
     @Column(name = "tag_no")
     private Long id;
 
-    private String tagName; // 해시태그 이름
+    // 태그 사전의 태그 (이름은 TagDictionary 캐시에서 id로 찾으므로 보통 초기화할 필요가 없다)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id")
+    private Tag tag;
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
     @JoinColumn(name = "post_no")
@@ -2,7 +2,11 @@ package com.study.jpa.chap05_practice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,7 +21,14 @@ import java.util.Locale;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_post")
+// 2차 캐시: 같은 게시물을 여러 번 조회해도 DB 대신 애플리케이션 메모리(Ehcache)에서 꺼낸다.
+// READ_WRITE - 수정/삭제가 커밋되면 캐시도 함께 갱신된다.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "post")
+// 변경 감지로 UPDATE할 때 바뀐 컬럼만 SET 절에 넣는다. (내용이 긴 content를 매번 다시 쓰지 않음)
+@DynamicUpdate
+// 커서 페이징(작성 시간 역순 + 글 번호)에 사용하는 인덱스
+@Table(name = "tbl_post", indexes = @Index(name = "idx_post_create_date", columnList = "create_date, post_no"))
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,7 +50,18 @@ public class Post {
     @UpdateTimestamp
     private LocalDateTime updatedDate; // 수정 시간
 
+    // 낙관적 잠금용 버전 (수정될 때마다 1씩 증가)
+    // 수정 요청에 조회했던 버전을 같이 보내면, 그 사이에 다른 요청이 먼저 수정한 경우 실패시킨다.
+    // 기존 행은 컬럼 추가 시 기본값 0으로 채워진다. (ddl-auto가 none이면 db/post_version.sql 실행)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // 게시물 목록은 페이징해서 조회하므로 SUBSELECT(원래 쿼리를 다시 실행) 대신
+    // 배치 조회(hibernate.default_batch_fetch_size)로 여러 게시물의 해시태그를 IN 절로 묶어서 가져온다.
     @OneToMany(mappedBy = "post", orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "post.hashTags")
     @Builder.Default // Builder 패턴으로 객체를 생성할 때 특정 필드를 직접 지정한 값으로 초기화 강제 명령.
     private List<HashTag> hashTags = new ArrayList<>(); // 해시태그
     
@@ -0,0 +1,32 @@
+package com.study.jpa.chap05_practice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 해시태그 사전 - 태그 이름은 이 테이블에 한 번만 저장하고,
+// 게시물과 태그의 연결(tbl_hash_tag)은 정수 id(tag_id)로만 참조한다.
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_tag")
+public class Tag {
+
+    // 새 태그를 여러 개 저장할 때 배치 INSERT가 가능하도록 시퀀스(pooled) 전략 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_seq_generator")
+    @SequenceGenerator(name = "tag_seq_generator", sequenceName = "tbl_tag_seq", allocationSize = 50)
+    @Column(name = "tag_id")
+    private Long id;
+
+    @Column(name = "tag_name", nullable = false, unique = true)
+    private String name; // 정규화된 태그 이름 (TagDictionary.canonicalize)
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long usageCount = 0; // 이 태그가 달린 게시물 수
+}
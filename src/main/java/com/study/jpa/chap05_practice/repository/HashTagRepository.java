@@ -1,7 +1,31 @@
 package com.study.jpa.chap05_practice.repository;
 
+import com.study.jpa.chap05_practice.dto.PostTagId;
 import com.study.jpa.chap05_practice.entity.HashTag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface HashTagRepository extends JpaRepository<HashTag, Long> {
+
+    // 여러 게시물의 태그 id를 한 번에 조회 (목록 조회에서 게시물마다 hashTags를 로딩하지 않도록)
+    @Query("SELECT h.post.id AS postNo, h.tag.id AS tagId FROM HashTag h" +
+            " WHERE h.post.id IN :postNos ORDER BY h.id")
+    List<PostTagId> findTagIdsByPostNoIn(@Param("postNos") List<Long> postNos);
+
+    // 태그가 달린 게시물 번호를 최신 글부터 조회 (tbl_hash_tag의 (tag_id, post_no) 인덱스만으로 처리)
+    // h.post.id는 외래키 컬럼(post_no)이라 tbl_post와 조인하지 않는다.
+    @Query("SELECT h.post.id FROM HashTag h WHERE h.tag.id = :tagId ORDER BY h.post.id DESC")
+    List<Long> findPostNosByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+    // 커서 이후(마지막으로 읽은 글 번호보다 작은 번호)의 게시물 번호 조회
+    @Query("SELECT h.post.id FROM HashTag h" +
+            " WHERE h.tag.id = :tagId AND h.post.id < :postNo" +
+            " ORDER BY h.post.id DESC")
+    List<Long> findPostNosByTagIdAfter(@Param("tagId") Long tagId,
+                                       @Param("postNo") Long postNo,
+                                       Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.study.jpa.chap05_practice.repository;
+
+// 게시물과 해시태그를 엔터티 조회 없이 DELETE 두 번으로 삭제한다. (PostRepository가 상속)
+public interface PostDeleteRepository {
+
+    // 해시태그를 post_no로 한 번에 지운 뒤 게시물을 지운다. (태그 사용 횟수는 호출 전에 줄일 것)
+    // 2차 캐시에서는 지운 게시물, 그 해시태그 목록, 해시태그만 제거한다.
+    // 반환값: 삭제된 게시물 수 (0이면 없는 게시물)
+    int deletePost(Long postNo);
+}
@@ -0,0 +1,51 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.HashTag;
+import com.study.jpa.chap05_practice.entity.Post;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+
+import static com.study.jpa.chap05_practice.repository.PostUpdateRepositoryImpl.UNMAPPED_QUERY_SPACE;
+
+@RequiredArgsConstructor
+public class PostDeleteRepositoryImpl implements PostDeleteRepository {
+    private final EntityManager entityManager;
+
+    private static final String HASH_TAGS_ROLE = Post.class.getName() + ".hashTags";
+
+    @Override
+    public int deletePost(Long postNo) {
+        // 캐시에서 제거할 해시태그 번호 (엔터티가 아니라 번호만 조회)
+        List<Long> hashTagIds = entityManager.createQuery(
+                        "SELECT h.id FROM HashTag h WHERE h.post.id = :postNo", Long.class)
+                .setParameter("postNo", postNo)
+                .getResultList();
+
+        // JPQL 벌크 DELETE나 실제 테이블을 query space로 등록한 네이티브 DELETE는
+        // post, hashTag, post.hashTags 캐시 영역 전체를 비우므로 엔터티와 무관한 query space를 등록한다.
+        // (PostUpdateRepositoryImpl.updatePost와 같은 방식, 아직 반영 안 된 변경은 먼저 직접 flush)
+        entityManager.flush();
+        delete("DELETE FROM tbl_hash_tag WHERE post_no = :postNo", postNo);
+        int deleted = delete("DELETE FROM tbl_post WHERE post_no = :postNo", postNo);
+
+        // 지운 것만 캐시에서 제거 (커밋 후에는 PostCacheEvictor가 게시물과 해시태그 목록을 한 번 더 제거)
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Post.class, postNo);
+        cache.evictCollectionData(HASH_TAGS_ROLE, postNo);
+        hashTagIds.forEach(id -> cache.evictEntityData(HashTag.class, id));
+        return deleted;
+    }
+
+    private int delete(String sql, Long postNo) {
+        return entityManager.createNativeQuery(sql)
+                .setParameter("postNo", postNo)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UNMAPPED_QUERY_SPACE)
+                .executeUpdate();
+    }
+}
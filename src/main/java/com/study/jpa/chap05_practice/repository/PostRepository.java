@@ -1,7 +1,51 @@
 package com.study.jpa.chap05_practice.repository;
 
+import com.study.jpa.chap05_practice.dto.PostSummary;
 import com.study.jpa.chap05_practice.entity.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostRepository extends JpaRepository<Post, Long>, PostUpdateRepository, PostDeleteRepository,
+        PostStreamRepository {
+
+    // 목록 조회 1단계: 페이지에 해당하는 게시물 번호만 조회한다.
+    // 컬렉션(hashTags)을 fetch join 하면서 페이징을 걸면 Hibernate가 전체를 메모리에 올린 뒤 잘라내기 때문에
+    // 페이징은 번호 조회에서만 처리한다. (정렬 조건은 Pageable의 Sort가 뒤에 붙는다)
+    // 반환 타입이 Slice면 count 쿼리 없이 size + 1개를 조회해서 다음 페이지 여부만 판단한다.
+    // 전체 개수는 TotalCountProvider(PostCountCache)가 제공한다.
+    @Query("SELECT p.id FROM Post p")
+    Slice<Long> findIdSlice(Pageable pageable);
+
+    // 목록 조회 2단계: 조회된 번호의 게시물을 응답에 필요한 컬럼만 IN 절 한 번으로 가져온다.
+    // 엔터티 대신 프로젝션으로 조회하므로 영속성 컨텍스트 관리 비용이 없다.
+    // 페이지 크기가 커져도 쿼리 수는 늘어나지 않는다. (해시태그는 HashTagRepository.findTagIdsByPostNoIn)
+    @Query("SELECT p.id AS id, p.writer AS writer, p.title AS title, p.content AS content," +
+            " p.createDate AS createDate, p.version AS version" +
+            " FROM Post p WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    // 커서(keyset) 페이징: OFFSET 없이 (작성 시간, 글 번호) 인덱스를 따라 마지막으로 읽은 위치 다음부터 조회한다.
+    // 반환 타입이 Page가 아니므로 count 쿼리도 실행되지 않는다. (Pageable은 LIMIT 용도로만 사용)
+    @Query("SELECT p.id FROM Post p ORDER BY p.createDate DESC, p.id DESC")
+    List<Long> findFirstIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p" +
+            " WHERE p.createDate <= :createDate" +
+            " AND (p.createDate < :createDate OR p.id < :postNo)" +
+            " ORDER BY p.createDate DESC, p.id DESC")
+    List<Long> findIdsAfter(@Param("createDate") LocalDateTime createDate,
+                            @Param("postNo") Long postNo,
+                            Pageable pageable);
+
+    // 검색 색인 전체 재생성용: 게시물 번호 순으로 lastId 다음부터 조회 (OFFSET 없이 끝까지 나눠 읽기)
+    @Query("SELECT p.id AS id, p.writer AS writer, p.title AS title, p.content AS content," +
+            " p.createDate AS createDate, p.version AS version" +
+            " FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<PostSummary> findSummariesAfterId(@Param("lastId") Long lastId, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.Post;
+
+import java.util.stream.Stream;
+
+// 전체 게시물을 페이지 없이 앞에서부터 한 번만 읽는 스트림 조회 (PostRepository가 상속)
+public interface PostStreamRepository {
+
+    // 게시물 번호 순으로 해시태그와 태그까지 함께 읽는다.
+    // fetchSize: 한 번에 DB에서 가져올 행 수 (MySQL은 Integer.MIN_VALUE여야 한 행씩 스트리밍)
+    // 트랜잭션 안에서 호출하고, 다 읽은 게시물은 호출한 쪽에서 detach해야 영속성 컨텍스트에 쌓이지 않는다.
+    // 스트림은 반드시 닫아야 한다. (try-with-resources)
+    Stream<Post> streamAllWithHashTags(int fetchSize);
+}
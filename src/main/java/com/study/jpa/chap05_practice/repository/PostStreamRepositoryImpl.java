@@ -0,0 +1,34 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.Post;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class PostStreamRepositoryImpl implements PostStreamRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Post> streamAllWithHashTags(int fetchSize) {
+        // 해시태그 컬렉션을 fetch join 하면 게시물 하나가 여러 행으로 나오므로 게시물 번호 순으로 정렬해야
+        // Hibernate가 연속된 행을 게시물 하나로 묶어서 넘겨준다. (해시태그는 등록 순서)
+        // (MySQL 스트리밍 중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없으므로 지연 로딩 대신 fetch join)
+        return entityManager.createQuery(
+                        "SELECT p FROM Post p" +
+                                " LEFT JOIN FETCH p.hashTags h LEFT JOIN FETCH h.tag" +
+                                " ORDER BY p.id, h.id", Post.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                // 변경 감지용 스냅샷을 만들지 않는다.
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // 전체 게시물을 2차 캐시에서 찾거나 캐시에 채우지 않는다. (자주 조회되는 게시물이 밀려나지 않도록)
+                .setHint(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream();
+    }
+}
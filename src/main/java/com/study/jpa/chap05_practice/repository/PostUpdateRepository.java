@@ -0,0 +1,10 @@
+package com.study.jpa.chap05_practice.repository;
+
+// 게시물을 조회하지 않고 UPDATE 한 번으로 수정한다. (PostRepository가 상속)
+public interface PostUpdateRepository {
+
+    // partial이 true면 null이 아닌 값만 변경하고(PATCH), false면 전달된 값으로 모두 교체한다(PUT).
+    // expectedVersion이 있으면 DB의 version이 같을 때만 수정한다. (낙관적 잠금)
+    // 반환값: 수정된 행 수 (0이면 없는 게시물이거나 다른 요청이 먼저 수정한 경우)
+    int updatePost(Long postNo, Long expectedVersion, String title, String content, boolean partial);
+}
@@ -0,0 +1,53 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PostUpdateRepositoryImpl implements PostUpdateRepository {
+    private final EntityManager entityManager;
+
+    // 어떤 엔터티의 테이블과도 겹치지 않는 query space (PostDeleteRepositoryImpl에서도 사용)
+    // 네이티브 변경 쿼리에 실제 테이블을 등록하면 Hibernate가 그 테이블을 쓰는 엔터티의 2차 캐시 영역 전체를 비운다.
+    static final String UNMAPPED_QUERY_SPACE = "post_native_write";
+
+    @Override
+    public int updatePost(Long postNo, Long expectedVersion, String title, String content, boolean partial) {
+        // 변경할 컬럼만 SET 절에 넣는다.
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (!partial || title != null) changes.put("title", title);
+        if (!partial || content != null) changes.put("content", content);
+        changes.put("updated_date", LocalDateTime.now());
+
+        List<String> assignments = new ArrayList<>();
+        changes.keySet().forEach(column -> assignments.add(column + " = :" + column));
+        assignments.add("version = version + 1");
+
+        String sql = "UPDATE tbl_post SET " + String.join(", ", assignments) + " WHERE post_no = :postNo"
+                + (expectedVersion != null ? " AND version = :version" : "");
+        Query query = entityManager.createNativeQuery(sql);
+        changes.forEach(query::setParameter);
+        query.setParameter("postNo", postNo);
+        if (expectedVersion != null) query.setParameter("version", expectedVersion);
+
+        // query space가 없는 네이티브 UPDATE는 2차 캐시 전체를, tbl_post를 등록하면 post 영역 전체를 비운다.
+        // 게시물 하나를 고칠 때마다 캐시된 모든 게시물이 사라지지 않도록 엔터티와 무관한 query space를 등록하고,
+        // 수정한 게시물만 직접 제거한다. (커밋 후에는 PostCacheEvictor가 한 번 더 제거)
+        // query space로 자동 flush 대상을 판단할 수 없으므로 아직 반영 안 된 변경은 먼저 직접 flush한다.
+        // (쿼리 캐시는 사용하지 않으므로 무효화할 쿼리 결과도 없다)
+        entityManager.flush();
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(UNMAPPED_QUERY_SPACE);
+        int updated = query.executeUpdate();
+        entityManager.getEntityManagerFactory().getCache().evict(Post.class, postNo);
+        return updated;
+    }
+}
@@ -0,0 +1,29 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    Optional<Tag> findByName(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // 사용 횟수를 UPDATE 한 번으로 증감 (엔터티를 읽어서 더하지 않으므로 동시에 등록되어도 값이 유실되지 않는다)
+    @Modifying
+    @Query("UPDATE Tag t SET t.usageCount = t.usageCount + :delta WHERE t.id IN :ids")
+    int addUsageCount(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    // 게시물 삭제 전에 그 게시물에 달린 태그들의 사용 횟수를 한 번에 감소
+    @Modifying
+    @Query("UPDATE Tag t SET t.usageCount = t.usageCount - 1" +
+            " WHERE t.id IN (SELECT h.tag.id FROM HashTag h WHERE h.post.id = :postNo)")
+    int decreaseUsageCountByPostNo(@Param("postNo") Long postNo);
+}
@@ -0,0 +1,63 @@
+package com.study.jpa.chap05_practice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 낙관적 잠금 충돌(버전 불일치) 시 잠시 기다렸다가 다시 시도하는 실행기 (내부 호출용)
+// 비관적 잠금(SELECT ... FOR UPDATE) 없이 여러 작업자가 같은 게시물을 수정할 때 사용한다.
+//
+// action은 매번 최신 버전을 다시 읽고 그 버전으로 수정해야 한다. 또한 시도마다 새 트랜잭션이어야 하므로
+// 트랜잭션 밖에서 PostService의 메서드를 호출하는 형태로 작성한다.
+//   optimisticRetry.execute(() -> {
+//       Long version = postService.getDetail(postNo).getVersion();
+//       dto.setVersion(version);
+//       return postService.modify(dto, true, false);
+//   });
+@Component
+@Slf4j
+public class OptimisticRetry {
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticRetry(
+            @Value("${post.retry.max-attempts:3}") int maxAttempts,
+            @Value("${post.retry.initial-backoff-ms:50}") long initialBackoffMs,
+            @Value("${post.retry.max-backoff-ms:1000}") long maxBackoffMs
+    ) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    // 충돌하면 대기 시간을 2배씩 늘려가며(최대 maxBackoffMs) 다시 실행한다.
+    // 대기 시간은 0 ~ 현재 상한 사이에서 랜덤으로 정해서(full jitter) 동시에 실패한 요청들이 또 부딪히지 않게 한다.
+    // maxAttempts번 모두 실패하면 마지막 예외를 그대로 던진다.
+    public <T> T execute(Supplier<T> action) {
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) throw e;
+                log.debug("낙관적 잠금 충돌, {}번째 재시도: {}", attempt, e.getMessage());
+                sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostImportResultDTO;
+import com.study.jpa.chap05_practice.entity.HashTag;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 게시물 일괄 등록 (게시판 이전용)
+// 요청 본문을 한 번에 읽지 않고 Jackson 스트리밍 파서로 게시물을 하나씩 읽어서
+// chunkSize개가 모일 때마다 새 트랜잭션으로 저장하고 flush() / clear()로 영속성 컨텍스트를 비운다.
+// 게시물이 수백만 개여도 메모리에는 chunk 하나 분량만 남는다.
+@Service
+@Slf4j
+public class PostBulkImporter {
+    private final EntityManager entityManager;
+    private final TagRepository tagRepository;
+    private final TagDictionary tagDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader postReader;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${post.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${post.import.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    public PostBulkImporter(
+            EntityManager entityManager,
+            TagRepository tagRepository,
+            TagDictionary tagDictionary,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            Validator validator,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.entityManager = entityManager;
+        this.tagRepository = tagRepository;
+        this.tagDictionary = tagDictionary;
+        this.eventPublisher = eventPublisher;
+        this.postReader = objectMapper.readerFor(PostCreateDTO.class);
+        this.validator = validator;
+        // chunk마다 새 트랜잭션으로 커밋
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 본문이 '['로 시작하면 JSON 배열, 아니면 줄마다 게시물 하나인 NDJSON으로 읽는다.
+    // 형식이 틀리거나 입력값 검증에 실패한 항목은 건너뛰고 결과에 원인을 담는다.
+    // JSON 문법 자체가 깨진 경우에는 그 뒤를 읽을 수 없으므로 그때까지 읽은 항목만 저장하고 중단한다.
+    public PostImportResultDTO importPosts(InputStream body) throws IOException {
+        Result result = new Result();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<PostCreateDTO> iterator = postReader.readValues(body)) {
+            while (true) {
+                PostCreateDTO dto;
+                try {
+                    if (!iterator.hasNextValue()) break;
+                    dto = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    if (e instanceof JsonParseException) {
+                        result.fail(index, "JSON 문법 오류로 이후 항목을 읽을 수 없습니다: " + e.getOriginalMessage());
+                        break;
+                    }
+                    // 값의 타입이 맞지 않는 경우 등은 해당 항목만 건너뛰고 다음 항목부터 계속 읽는다.
+                    result.fail(index++, e.getOriginalMessage());
+                    continue;
+                }
+
+                String invalid = validate(dto);
+                if (invalid != null) {
+                    result.fail(index++, invalid);
+                    continue;
+                }
+
+                chunk.add(new Item(index++, dto));
+                if (chunk.size() == chunkSize) {
+                    save(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) save(chunk, result);
+
+        log.info("게시물 일괄 등록 완료: 성공 {}건, 실패 {}건", result.imported, result.failed);
+        return PostImportResultDTO.builder()
+                .imported(result.imported)
+                .failed(result.failed)
+                .failures(result.failures)
+                .build();
+    }
+
+    private String validate(PostCreateDTO dto) {
+        if (dto == null) return "게시물 정보가 비어 있습니다.";
+        Set<ConstraintViolation<PostCreateDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // chunk를 한 트랜잭션으로 저장한다.
+    // DB 오류로 chunk 전체가 롤백되면 어느 항목이 원인인지 알 수 없으므로 하나씩 다시 저장해 본다.
+    private void save(List<Item> chunk, Result result) {
+        try {
+            result.imported += persistInTransaction(chunk);
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                log.warn("게시물 일괄 등록 실패 - {}번째 항목: {}", chunk.get(0).index, e.getMessage());
+                result.fail(chunk.get(0).index, "저장 실패: " + rootMessage(e));
+                return;
+            }
+            log.warn("게시물 일괄 등록 chunk 실패, 항목별로 다시 저장합니다: {}", e.getMessage());
+            chunk.forEach(item -> save(List.of(item), result));
+        }
+    }
+
+    private int persistInTransaction(List<Item> chunk) {
+        Integer saved = chunkTransaction.execute(status -> {
+            List<Post> posts = persist(chunk);
+
+            // INSERT를 실행하고 영속성 컨텍스트를 비워서 저장한 엔터티가 메모리에 쌓이지 않게 한다.
+            entityManager.flush();
+            List<Long> postNos = posts.stream().map(Post::getId).collect(Collectors.toList());
+            entityManager.clear();
+
+            eventPublisher.publishEvent(new PostsImportedEvent(postNos));
+            return postNos.size();
+        });
+        return saved == null ? 0 : saved;
+    }
+
+    // 게시물과 해시태그 저장
+    // 태그 이름은 chunk 전체를 모아서 한 번에 태그 id로 변환하고, 사용 횟수도 증가량별로 묶어서 UPDATE한다.
+    // (게시물은 IDENTITY 전략이라 INSERT가 하나씩 실행되지만, 해시태그는 시퀀스 전략이라 JDBC 배치로 묶인다)
+    private List<Post> persist(List<Item> chunk) {
+        List<String> names = chunk.stream()
+                .map(item -> item.dto.getHashTags())
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(TagDictionary::canonicalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        List<Long> ids = tagDictionary.resolveIds(names);
+        Map<String, Long> tagIds = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) tagIds.put(names.get(i), ids.get(i));
+
+        Map<Long, Long> usageCounts = new HashMap<>();
+        List<Post> posts = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            Post post = item.dto.toEntity();
+            entityManager.persist(post);
+            posts.add(post);
+
+            tagIdsOf(item.dto, tagIds).forEach(tagId -> {
+                entityManager.persist(HashTag.builder()
+                        .tag(entityManager.getReference(Tag.class, tagId))
+                        .post(post)
+                        .build());
+                usageCounts.merge(tagId, 1L, Long::sum);
+            });
+        }
+
+        usageCounts.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((delta, tagIdsWithDelta) -> tagRepository.addUsageCount(tagIdsWithDelta, delta));
+        return posts;
+    }
+
+    private static Set<Long> tagIdsOf(PostCreateDTO dto, Map<String, Long> tagIds) {
+        if (dto.getHashTags() == null) return Set.of();
+        return dto.getHashTags().stream()
+                .map(TagDictionary::canonicalize)
+                .filter(name -> !name.isEmpty())
+                .map(tagIds::get)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) root = root.getCause();
+        return root.getMessage();
+    }
+
+    @AllArgsConstructor
+    private static class Item {
+        int index; // 요청 본문에서 몇 번째 항목인지
+        PostCreateDTO dto;
+    }
+
+    private class Result {
+        int imported;
+        int failed;
+        List<PostImportResultDTO.Failure> failures = new ArrayList<>();
+
+        void fail(int index, String reason) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new PostImportResultDTO.Failure(index, reason));
+            }
+        }
+    }
+}
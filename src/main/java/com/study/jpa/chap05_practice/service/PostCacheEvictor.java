@@ -0,0 +1,28 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.entity.Post;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// 게시물이 수정/삭제되면 2차 캐시에서 해당 게시물과 해시태그 목록을 제거한다.
+// 엔터티로 수정/삭제하면 Hibernate가 캐시를 갱신하지만,
+// 벌크 쿼리나 다른 경로로 변경된 경우에도 오래된 캐시가 남지 않도록 커밋 후 한 번 더 정리한다.
+@Component
+@RequiredArgsConstructor
+public class PostCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    private static final String HASH_TAGS_ROLE = Post.class.getName() + ".hashTags";
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.CREATED) return;
+
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Post.class, event.getPostNo());
+        cache.evictCollectionData(HASH_TAGS_ROLE, event.getPostNo());
+    }
+}
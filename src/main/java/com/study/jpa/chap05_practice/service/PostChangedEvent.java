@@ -0,0 +1,20 @@
+package com.study.jpa.chap05_practice.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시물이 등록, 수정, 삭제되었음을 알리는 이벤트
+// PostService가 발행하고, 트랜잭션 커밋 이후에 처리해야 하는 작업(카운터 갱신 등)이 구독한다.
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    private Long postNo;
+    private Type type;
+
+    public enum Type {
+        CREATED, MODIFIED, DELETED
+    }
+}
@@ -0,0 +1,69 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.TotalCountProvider;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 게시물 전체 개수를 메모리에 보관하는 카운터
+// 등록/삭제가 커밋될 때마다 값을 증감하고, 서버가 여러 대이거나 직접 DB를 수정한 경우의 오차는
+// 주기적으로 count(*)를 다시 실행해서 맞춘다(reconcile).
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PostCountCache implements TotalCountProvider {
+    private final PostRepository postRepository;
+
+    // 아직 한 번도 count를 하지 못했으면 -1 (전체 개수를 모르는 상태)
+    private final AtomicLong count = new AtomicLong(-1);
+
+    @Value("${post.count.cache-enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public OptionalLong getTotalCount() {
+        long current = count.get();
+        if (!enabled || current < 0) return OptionalLong.empty();
+        return OptionalLong.of(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${post.count.reconcile-interval-ms:60000}",
+            fixedDelayString = "${post.count.reconcile-interval-ms:60000}"
+    )
+    public void reconcile() {
+        if (!enabled) return;
+        long total = postRepository.count();
+        long before = count.getAndSet(total);
+        if (before >= 0 && before != total) {
+            log.info("게시물 수 카운터 보정: {} -> {}", before, total);
+        }
+    }
+
+    // 롤백된 등록/삭제는 반영하지 않도록 커밋 이후에만 증감한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (count.get() < 0) return;
+        switch (event.getType()) {
+            case CREATED -> count.incrementAndGet();
+            case DELETED -> count.decrementAndGet();
+            default -> { }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsImported(PostsImportedEvent event) {
+        if (count.get() < 0) return;
+        count.addAndGet(event.getPostNos().size());
+    }
+}
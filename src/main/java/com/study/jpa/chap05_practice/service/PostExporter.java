@@ -0,0 +1,163 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.entity.HashTag;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 전체 게시물 내보내기 (NDJSON / CSV)
+// 페이지 단위로 나눠 조회하지 않고 쿼리 하나의 결과를 앞에서부터 읽으면서 바로 출력 스트림에 쓴다.
+// 쓴 게시물은 영속성 컨텍스트에서 분리(detach)하므로 게시물이 수천만 개여도 메모리 사용량이 일정하다.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostExporter {
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // MySQL Connector/J는 fetch size가 Integer.MIN_VALUE일 때만 결과를 한 행씩 스트리밍한다.
+    // (양수로 지정하면 결과 전체를 메모리에 올린 뒤 돌려준다. useCursorFetch=true면 양수 크기로 서버 커서 사용)
+    @Value("${post.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    // readOnly 트랜잭션이므로 복제 DB가 설정되어 있으면 replica에서 읽는다.
+    // 반환값: 내보낸 게시물 수
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format) throws IOException {
+        long count = 0;
+        try (Stream<Post> posts = postRepository.streamAllWithHashTags(fetchSize);
+             RowWriter writer = (format == Format.CSV) ? new CsvWriter(out) : new NdjsonWriter(out)) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                writer.write(post, tagNamesOf(post));
+                detach(post);
+                count++;
+            }
+        }
+        log.info("게시물 내보내기 완료({}): {}건", format, count);
+        return count;
+    }
+
+    // 해시태그와 태그는 fetch join으로 함께 읽었으므로 추가 쿼리 없이 이름을 꺼낸다.
+    private static List<String> tagNamesOf(Post post) {
+        return post.getHashTags().stream()
+                .map(hashTag -> hashTag.getTag().getName())
+                .collect(Collectors.toList());
+    }
+
+    // 연관관계에 CascadeType.DETACH가 없으므로 함께 읽은 해시태그와 태그도 직접 분리한다.
+    private void detach(Post post) {
+        for (HashTag hashTag : post.getHashTags()) {
+            entityManager.detach(hashTag.getTag());
+            entityManager.detach(hashTag);
+        }
+        entityManager.detach(post);
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(Post post, List<String> hashTags) throws IOException;
+    }
+
+    // 한 줄에 게시물 하나인 JSON (일괄 등록 POST /api/v1/posts/bulk에 그대로 넣을 수 있다)
+    // DTO를 거치지 않고 JsonGenerator로 필드를 바로 쓴다.
+    private class NdjsonWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫는다.
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Post post, List<String> hashTags) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("postNo", post.getId());
+            generator.writeStringField("writer", post.getWriter());
+            generator.writeStringField("title", post.getTitle());
+            generator.writeStringField("content", post.getContent());
+            generator.writeArrayFieldStart("hashTags");
+            for (String tag : hashTags) generator.writeString(tag);
+            generator.writeEndArray();
+            generator.writeStringField("regDate", Objects.toString(post.getCreateDate(), null));
+            generator.writeStringField("updatedDate", Objects.toString(post.getUpdatedDate(), null));
+            generator.writeNumberField("version", post.getVersion());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    // RFC 4180 형식의 CSV (해시태그는 공백으로 구분)
+    private static class CsvWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // 엑셀에서 한글이 깨지지 않도록 BOM을 붙인다.
+            writer.write('\uFEFF');
+            writer.write("postNo,writer,title,content,hashTags,regDate,updatedDate,version\r\n");
+        }
+
+        @Override
+        public void write(Post post, List<String> hashTags) throws IOException {
+            writer.write(String.valueOf(post.getId()));
+            writer.write(',');
+            writer.write(escape(post.getWriter()));
+            writer.write(',');
+            writer.write(escape(post.getTitle()));
+            writer.write(',');
+            writer.write(escape(post.getContent()));
+            writer.write(',');
+            writer.write(escape(String.join(" ", hashTags)));
+            writer.write(',');
+            writer.write(Objects.toString(post.getCreateDate(), ""));
+            writer.write(',');
+            writer.write(Objects.toString(post.getUpdatedDate(), ""));
+            writer.write(',');
+            writer.write(String.valueOf(post.getVersion()));
+            writer.write("\r\n");
+        }
+
+        // 쉼표, 따옴표, 줄바꿈이 있는 값은 큰따옴표로 감싸고 안의 따옴표는 두 번 쓴다.
+        private static String escape(String value) {
+            if (value == null) return "";
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+}
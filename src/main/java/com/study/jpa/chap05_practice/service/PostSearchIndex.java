@@ -0,0 +1,187 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostSummary;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// 게시물 제목/내용 검색용 역색인 (Lucene)
+// LIKE '%검색어%'는 인덱스를 타지 못하고 테이블 전체를 읽기 때문에,
+// 형태소 분석(nori)한 단어 -> 게시물 번호 색인을 애플리케이션 로컬 디스크에 따로 유지한다.
+// DB는 여전히 원본 데이터이고, 색인에는 게시물 번호만 저장해서 검색 결과는 DB에서 다시 조회한다.
+@Component
+@Slf4j
+public class PostSearchIndex {
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    // 재색인 세대 - 재색인이 끝났을 때 이번 세대로 다시 쓰이지 않은 문서(DB에서 사라진 게시물)를 지운다.
+    private static final String GENERATION = "generation";
+
+    // 제목에서 일치하면 내용에서 일치한 것보다 점수를 높게 준다.
+    private static final float TITLE_BOOST = 2f;
+
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // 문서에 기록할 현재 세대 (재색인을 시작할 때마다 바뀐다)
+    private volatile String generation = "0";
+
+    // 재색인 중에는 검색기를 갱신하지 않고 디스크에 commit하지도 않는다.
+    // (재색인 도중의 색인이 검색되거나 저장되지 않도록, 끝난 뒤 한 번에 반영)
+    private volatile boolean rebuilding = false;
+
+    // index-dir을 비워두면 메모리에만 색인한다. (서버 시작 시 DB에서 다시 만든다)
+    public PostSearchIndex(@Value("${post.search.index-dir:}") String indexDir) throws IOException {
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        // 커밋하지 않은 변경도 검색되도록 IndexWriter에서 바로 검색기를 연다. (near-real-time)
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // 게시물 번호 기준으로 색인을 추가하거나 교체한다.
+    public void index(PostSummary post) throws IOException {
+        writer.updateDocument(new Term(ID, post.getId().toString()), toDocument(post));
+        refresh();
+    }
+
+    // 여러 게시물을 색인한 뒤 검색기를 한 번만 갱신한다. (일괄 등록, 재색인용)
+    public void indexAll(List<PostSummary> posts) throws IOException {
+        for (PostSummary post : posts) {
+            writer.updateDocument(new Term(ID, post.getId().toString()), toDocument(post));
+        }
+        refresh();
+    }
+
+    public void delete(Long postNo) throws IOException {
+        writer.deleteDocuments(new Term(ID, postNo.toString()));
+        refresh();
+    }
+
+    // 전체 재색인 시작: 기존 색인을 비우지 않고 새 세대로 indexAll 하면서 문서를 하나씩 교체한다.
+    // 재색인 중에도 검색은 시작 전 색인으로 계속 동작한다.
+    public void beginRebuild() {
+        generation = Long.toString(System.currentTimeMillis());
+        rebuilding = true;
+    }
+
+    // 전체 재색인 끝: completed이면 이번 세대로 쓰이지 않은 문서를 지운 뒤 commit하고 검색기를 갱신한다.
+    // 실패한 경우에는 지우지 않고 지금까지 교체한 문서만 반영한다.
+    public void finishRebuild(boolean completed) throws IOException {
+        try {
+            if (completed) {
+                writer.deleteDocuments(new BooleanQuery.Builder()
+                        .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                        .add(new TermQuery(new Term(GENERATION, generation)), BooleanClause.Occur.MUST_NOT)
+                        .build());
+            }
+        } finally {
+            rebuilding = false;
+            commit();
+        }
+    }
+
+    private void refresh() throws IOException {
+        if (!rebuilding) searcherManager.maybeRefresh();
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    // 디스크 반영은 변경마다 하지 않고 주기적으로 모아서 한다.
+    // (반영 전에 서버가 죽으면 마지막 commit 이후 변경이 유실되므로 재색인으로 복구)
+    @Scheduled(fixedDelayString = "${post.search.commit-interval-ms:10000}")
+    public void commit() throws IOException {
+        if (rebuilding) return;
+        if (writer.hasUncommittedChanges()) writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private Document toDocument(PostSummary post) {
+        Document document = new Document();
+        document.add(new StringField(ID, post.getId().toString(), Field.Store.YES));
+        document.add(new StringField(GENERATION, generation, Field.Store.NO));
+        document.add(new TextField(TITLE, post.getTitle(), Field.Store.NO));
+        if (post.getContent() != null) {
+            document.add(new TextField(CONTENT, post.getContent(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // 검색어를 형태소 분석해서 제목/내용 중 하나라도 일치하는 게시물을 점수 순으로 찾는다.
+    // 일치하는 단어가 많을수록, 제목에서 일치할수록 앞에 온다.
+    public Hits search(String keyword, int page, int size) throws IOException {
+        Query query = toQuery(keyword);
+        if (query == null) return new Hits(List.of(), 0);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, page * size);
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> postNos = new ArrayList<>();
+            for (int i = (page - 1) * size; i < topDocs.scoreDocs.length; i++) {
+                postNos.add(Long.valueOf(storedFields.document(topDocs.scoreDocs[i].doc).get(ID)));
+            }
+            return new Hits(postNos, searcher.count(query));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // 분석 결과 단어가 하나도 없으면(조사만 입력한 경우 등) null
+    private Query toQuery(String keyword) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query titleQuery = builder.createBooleanQuery(TITLE, keyword);
+        Query contentQuery = builder.createBooleanQuery(CONTENT, keyword);
+        if (titleQuery == null && contentQuery == null) return null;
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (titleQuery != null) query.add(new BoostQuery(titleQuery, TITLE_BOOST), BooleanClause.Occur.SHOULD);
+        if (contentQuery != null) query.add(contentQuery, BooleanClause.Occur.SHOULD);
+        return query.build();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        rebuilding = false;
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // 검색 결과: 현재 페이지의 게시물 번호(점수 순)와 전체 검색 결과 수
+    @Getter
+    @RequiredArgsConstructor
+    public static class Hits {
+        private final List<Long> postNos;
+        private final long totalHits;
+    }
+}
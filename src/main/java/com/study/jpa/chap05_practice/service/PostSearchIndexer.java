@@ -0,0 +1,157 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostSummary;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 게시물 등록/수정/삭제가 커밋되면 검색 색인에 반영한다.
+// 롤백된 변경이 검색되지 않도록 커밋 이후에만 색인을 갱신한다.
+// 변경 이벤트 처리와 재색인의 chunk 처리는 모두 같은 잠금 안에서 "DB 조회 -> 색인 반영"을 한다.
+// 그래서 재색인이 먼저 읽은 예전 내용이 이벤트로 반영된 최신 내용(수정/삭제)을 덮어쓰지 않는다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PostSearchIndexer {
+    private final PostRepository postRepository;
+    private final PostSearchIndex searchIndex;
+
+    // 전체 재색인 시 한 번에 읽어올 게시물 수
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile long lastRebuildRequestedAt = 0;
+
+    // 재색인 API 호출용 관리자 토큰 (비워두면 API로는 재색인할 수 없다)
+    @Value("${post.search.rebuild-token:}")
+    private String rebuildToken;
+
+    // 재색인 API 최소 호출 간격
+    @Value("${post.search.rebuild-min-interval-ms:600000}")
+    private long rebuildMinIntervalMs;
+
+    // 커밋이 끝난 뒤라 기존 트랜잭션에서는 조회할 수 없으므로 새 트랜잭션에서 게시물을 다시 읽는다.
+    // (readOnly로 하면 replica로 라우팅되어 복제 지연 때문에 방금 커밋한 내용을 못 읽을 수 있다)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPostChanged(PostChangedEvent event) {
+        indexLock.lock();
+        try {
+            if (event.getType() == PostChangedEvent.Type.DELETED) {
+                searchIndex.delete(event.getPostNo());
+                return;
+            }
+            for (PostSummary post : postRepository.findSummariesByIdIn(List.of(event.getPostNo()))) {
+                searchIndex.index(post);
+            }
+        } catch (IOException e) {
+            // 색인 실패로 이미 커밋된 요청을 실패시키지 않는다. (재색인으로 복구)
+            log.error("게시물 검색 색인 갱신 실패 - {}번 {}", event.getPostNo(), event.getType(), e);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    // 일괄 등록된 chunk는 게시물을 한 번에 조회해서 색인한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPostsImported(PostsImportedEvent event) {
+        indexLock.lock();
+        try {
+            searchIndex.indexAll(postRepository.findSummariesByIdIn(event.getPostNos()));
+        } catch (IOException e) {
+            log.error("게시물 검색 색인 갱신 실패 - 일괄 등록 {}건", event.getPostNos().size(), e);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    // 색인이 비어 있으면(메모리 색인이거나 처음 실행한 경우) 서버 시작 시 DB에서 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() throws IOException {
+        if (searchIndex.size() == 0) rebuild();
+    }
+
+    // 재색인 API 토큰 확인 (토큰이 설정되지 않았으면 항상 거부)
+    public boolean isRebuildAllowed(String token) {
+        if (rebuildToken.isBlank() || token == null) return false;
+        return MessageDigest.isEqual(
+                rebuildToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // API로 요청한 재색인: 최소 호출 간격 안에 다시 요청하면 거부한다. (IllegalStateException)
+    public long rebuildOnRequest() throws IOException {
+        long now = System.currentTimeMillis();
+        long elapsed = now - lastRebuildRequestedAt;
+        if (elapsed < rebuildMinIntervalMs) {
+            throw new IllegalStateException("검색 색인 재생성은 " + (rebuildMinIntervalMs - elapsed) / 1000 + "초 후에 다시 요청할 수 있습니다.");
+        }
+        long total = rebuild();
+        lastRebuildRequestedAt = now;
+        return total;
+    }
+
+    // 전체 재색인: 게시물 번호 순으로 REBUILD_CHUNK_SIZE개씩 읽어서 색인한다.
+    // OFFSET 대신 마지막으로 읽은 번호 다음부터 조회하므로 게시물이 많아도 조회 비용이 일정하고
+    // 엔터티가 아닌 프로젝션으로 읽어 영속성 컨텍스트에 쌓이지 않는다.
+    // 색인을 비우지 않고 문서를 교체하며, 끝난 뒤 DB에 없는 문서를 지우고 한 번에 검색에 반영한다.
+    // 이미 재색인 중이면 IllegalStateException
+    public long rebuild() throws IOException {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("검색 색인을 이미 재생성하고 있습니다.");
+        }
+        boolean completed = false;
+        try {
+            indexLock.lock();
+            try {
+                searchIndex.beginRebuild();
+            } finally {
+                indexLock.unlock();
+            }
+
+            long total = 0;
+            long lastPostNo = 0;
+            List<PostSummary> chunk;
+            do {
+                // chunk 단위로만 잠가서 재색인 중에도 게시물 변경 이벤트가 오래 기다리지 않게 한다.
+                indexLock.lock();
+                try {
+                    chunk = postRepository.findSummariesAfterId(lastPostNo, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                    searchIndex.indexAll(chunk);
+                } finally {
+                    indexLock.unlock();
+                }
+                total += chunk.size();
+                if (!chunk.isEmpty()) lastPostNo = chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == REBUILD_CHUNK_SIZE);
+
+            completed = true;
+            log.info("게시물 검색 색인 재생성 완료: {}건", total);
+            return total;
+        } finally {
+            indexLock.lock();
+            try {
+                searchIndex.finishRebuild(completed);
+            } finally {
+                indexLock.unlock();
+                rebuilding.set(false);
+            }
+        }
+    }
+}
@@ -5,16 +5,27 @@ import com.study.jpa.chap05_practice.entity.HashTag;
 import com.study.jpa.chap05_practice.entity.Post;
 import com.study.jpa.chap05_practice.repository.HashTagRepository;
 import com.study.jpa.chap05_practice.repository.PostRepository;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,8 +35,20 @@ import java.util.stream.Collectors;
 public class PostService {
     private final PostRepository postRepository;
     private final HashTagRepository hashTagRepository;
+    private final TagRepository tagRepository;
+    private final TagDictionary tagDictionary;
+    private final PostCountCache postCountCache;
+    private final PostSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // 목록 한 번에 조회할 수 있는 최대 게시물 수
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // 조회 메서드는 readOnly 트랜잭션으로 실행한다.
+    // Hibernate가 변경 감지용 스냅샷을 만들지 않고 flush도 하지 않는다.
+    @Transactional(readOnly = true)
     public PostListResponseDTO getPosts(PageDTO pageDTO) {
+        checkSize(pageDTO.getSize());
         //Pageable 객체 생성
         Pageable pageable = PageRequest.of(
                 pageDTO.getPage() - 1, pageDTO.getSize(),
@@ -33,15 +56,16 @@ public class PostService {
         );
         
         // 데이터베이스에서 게시물 목록 조회
-        Page<Post> posts = postRepository.findAll(pageable);
+        // findAll(pageable)로 조회하면 DTO 변환 시 게시물마다 hashTags를 지연 로딩한다. (N+1 문제)
+        // 번호 페이지를 먼저 조회한 뒤 게시물과 해시태그를 각각 IN 절로 한번에 가져온다.
+        // 전체 게시물 수는 매번 count(*)를 하지 않고 PostCountCache에서 가져온다.
+        Slice<Long> idSlice = postRepository.findIdSlice(pageable);
 
-        // 게시물 정보만 꺼내기
-        List<Post> postList = posts.getContent();
+        // 게시물 정보만 꺼내기 (엔터티가 아닌 필요한 컬럼만 담은 프로젝션)
+        List<PostSummary> postList = findSummaries(idSlice.getContent());
 
         // 게시물 정보를 응답용 DTO의 형태에 맞게 변환
-        List<PostDetailResponseDTO> detailList = postList.stream()
-                .map(PostDetailResponseDTO::new)
-                .collect(Collectors.toList());
+        List<PostDetailResponseDTO> detailList = toDetailDTOs(postList);
 
         // DB에서 조회한 정보를 JSON 형태에 맞는 DTO로 전환
         // Page 구성 정보와 위에 있는 게시물 정보를 또 다른 DTO로 한번에 포장해서 리턴할 예정
@@ -49,15 +73,148 @@ public class PostService {
 
         return PostListResponseDTO.builder()
                 .count(detailList.size()) // 총 게시물 수가 아니라 페이징에 의해 조회된 게시물 수
-                .pageInfo(new PageResponseDTO(posts))
+                .pageInfo(new PageResponseDTO(idSlice, postCountCache))
                 // JPA가 준 페이지 정보가 담긴 객체를 DTO에게 전달해서 그쪽에서 알고리즘 돌리게 시킴
                 .posts(detailList)
                 .build();
     }
 
+    // 커서 모드 목록 조회: after가 비어 있으면 첫 페이지, 아니면 커서 다음부터 size개 조회
+    // OFFSET과 count 쿼리가 없기 때문에 뒤쪽 페이지로 가도 조회 비용이 일정하다.
+    @Transactional(readOnly = true)
+    public PostListResponseDTO getPostsAfter(String after, int size) {
+        checkSize(size);
+        // 다음 페이지가 있는지 확인하기 위해 하나 더 조회한다.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Long> ids;
+        if (after == null || after.isBlank()) {
+            ids = postRepository.findFirstIds(limit);
+        } else {
+            PostCursor cursor = PostCursor.decode(after);
+            ids = postRepository.findIdsAfter(cursor.getCreateDate(), cursor.getPostNo(), limit);
+        }
+
+        return toCursorResponse(ids, size);
+    }
+
+    // 해시태그로 게시물 목록 조회 (커서 모드)
+    // 태그 이름 -> 태그 id는 사전 캐시에서 찾고, (tag_id, post_no) 인덱스를 글 번호 역순으로 따라가며 조회한다.
+    // 인기 태그에 게시물이 수십만 개 있어도 OFFSET 없이 필요한 만큼만 읽는다.
+    @Transactional(readOnly = true)
+    public PostListResponseDTO getPostsByTag(String tag, String after, int size) {
+        checkSize(size);
+        PostCursor cursor = (after == null || after.isBlank()) ? null : PostCursor.decode(after);
+
+        Optional<Long> tagId = tagDictionary.findId(tag);
+        if (tagId.isEmpty()) return toCursorResponse(List.of(), size);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Long> ids = (cursor == null)
+                ? hashTagRepository.findPostNosByTagId(tagId.get(), limit)
+                : hashTagRepository.findPostNosByTagIdAfter(tagId.get(), cursor.getPostNo(), limit);
+
+        return toCursorResponse(ids, size);
+    }
+
+    // 제목/내용 검색: 검색 색인에서 점수 순으로 게시물 번호를 찾고, 게시물 정보는 DB에서 조회한다.
+    // 전체 개수는 count(*) 대신 색인의 검색 결과 수를 사용한다.
+    @Transactional(readOnly = true)
+    public PostListResponseDTO search(String keyword, PageDTO pageDTO) throws IOException {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해 주세요.");
+        }
+        checkSize(pageDTO.getSize());
+        Pageable pageable = PageRequest.of(pageDTO.getPage() - 1, pageDTO.getSize());
+        PostSearchIndex.Hits hits = searchIndex.search(keyword, pageDTO.getPage(), pageDTO.getSize());
+
+        List<PostSummary> postList = findSummaries(hits.getPostNos());
+        List<PostDetailResponseDTO> detailList = toDetailDTOs(postList);
+
+        boolean hasNext = pageable.getOffset() + pageable.getPageSize() < hits.getTotalHits();
+        Slice<Long> idSlice = new SliceImpl<>(hits.getPostNos(), pageable, hasNext);
+
+        return PostListResponseDTO.builder()
+                .count(detailList.size())
+                .pageInfo(new PageResponseDTO(idSlice, () -> OptionalLong.of(hits.getTotalHits())))
+                .posts(detailList)
+                .build();
+    }
+
+    // 목록 크기 검증 (컨트롤러에서 400 응답으로 변환)
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하로 입력해 주세요.");
+        }
+    }
+
+    // size + 1개 조회한 게시물 번호로 커서 모드 응답을 만든다. (size개를 넘으면 다음 커서 생성)
+    private PostListResponseDTO toCursorResponse(List<Long> ids, int size) {
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        List<PostSummary> postList = findSummaries(ids);
+        List<PostDetailResponseDTO> detailList = toDetailDTOs(postList);
+
+        // 번호 조회 이후에 게시물이 모두 삭제되어 목록이 비었으면 커서를 만들 기준이 없다.
+        String nextCursor = (hasNext && !postList.isEmpty())
+                ? PostCursor.of(postList.get(postList.size() - 1)).encode()
+                : null;
+
+        return PostListResponseDTO.builder()
+                .count(detailList.size())
+                .posts(detailList)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 게시물 번호 목록의 순서대로 목록용 프로젝션 조회
+    private List<PostSummary> findSummaries(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, PostSummary> summaryMap = postRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(summaryMap::get)
+                .filter(Objects::nonNull) // 번호 조회 이후에 삭제된 게시물 제외
+                .collect(Collectors.toList());
+    }
+
+    // 목록용 프로젝션을 응답 DTO로 변환
+    // 게시물들의 태그 id를 한 번에 조회하고, 태그 이름은 태그 사전 캐시에서 찾는다.
+    private List<PostDetailResponseDTO> toDetailDTOs(List<PostSummary> postList) {
+        if (postList.isEmpty()) return List.of();
+        List<PostTagId> postTagIds = hashTagRepository.findTagIdsByPostNoIn(
+                postList.stream().map(PostSummary::getId).collect(Collectors.toList()));
+
+        // 목록 전체의 태그 id로 캐시를 한 번에 채워서 게시물마다 태그를 조회하지 않도록 한다.
+        tagDictionary.namesOf(postTagIds.stream().map(PostTagId::getTagId).collect(Collectors.toList()));
+        Map<Long, List<Long>> tagIdMap = postTagIds.stream()
+                .collect(Collectors.groupingBy(PostTagId::getPostNo,
+                        Collectors.mapping(PostTagId::getTagId, Collectors.toList())));
+
+        return postList.stream()
+                .map(post -> new PostDetailResponseDTO(post,
+                        tagDictionary.namesOf(tagIdMap.getOrDefault(post.getId(), List.of()))))
+                .collect(Collectors.toList());
+    }
+
+    // 엔터티를 응답 DTO로 변환 (해시태그 이름은 태그 사전 캐시에서 id로 찾는다)
+    private PostDetailResponseDTO toDetailDTO(Post post) {
+        return new PostDetailResponseDTO(post, tagDictionary.namesOf(tagIdsOf(post)));
+    }
+
+    // Tag는 지연 로딩 프록시지만 id 조회는 프록시를 초기화하지 않는다.
+    private static List<Long> tagIdsOf(Post post) {
+        return post.getHashTags().stream()
+                .map(hashTag -> hashTag.getTag().getId())
+                .collect(Collectors.toList());
+    }
+
+    // 상세 조회는 2차 캐시에 보관된 엔터티를 그대로 사용한다. (캐시 hit이면 SQL 없음)
+    // 프로젝션 쿼리는 2차 캐시를 거치지 않으므로 상세 조회는 엔터티 조회 + readOnly로 처리한다.
+    @Transactional(readOnly = true)
     public PostDetailResponseDTO getDetail(Long id) throws Exception {
         Post post = getPost(id);
-        return new PostDetailResponseDTO(post);
+        return toDetailDTO(post);
     }
 
     private Post getPost(Long id) {
@@ -71,59 +228,92 @@ public class PostService {
         Post saved = postRepository.save(dto.toEntity());
 
         // 해시태그 저장
-        List<String> hashTags = dto.getHashTags();
-        if (hashTags != null && !hashTags.isEmpty()) {
-            hashTags.forEach(ht -> {
-                HashTag hashTag = HashTag.builder()
-                        .tagName(ht)
-                        .post(saved) // 게시물 저장된 post 객체를 전달
-                        .build();
-                HashTag savedTag = hashTagRepository.save(hashTag);
-
-                /*
-                    Post Entity는 데이터 베이스에 save할 때 hashTags를 insert하지 않고
-                    HashTag Entity는 따로 save를 진행한다.(테이블이 Post, HashTag 각각 나뉘어 있음)
-
-                    HashTag는 양방향 맵핑이 되어 있는 연관관계의 주인이기 때문에
-                    save를 진행할 때 Post를 전달하므로 DB와 Entity의 상태가 동일하다.
-                    하지만 Post는 연관관계 주인이 아니므로 HashTag의 정보가 비어있으며 조회용(mappedBy)으로만 설정된 상태이다.
-                    그러므로 위에 작성된 'saved' 객체의 hashTagList는 null이기 때문에 에러가 난다.
-                    
-                    이 문제를 해결하기 위해 Post Entity에 연관관계 편의 메서드를 작성해
-                    save된 HashTag의 내용을 바로 hashTag List에 동기화해야 한다.
-                    Post를 화면단으로 return할 때 HashTag들도 같이 전달되어야 하므로.
-                    (Post 객체에서 hashTagList에 @Builder.Defualt 설정 필수!)
-                    
-                    (다른 해결 방법으로는 Entity Manager를 주입받아 Insert 완료 후 Select를 하게 하는 방법도 있다.
-                    Entity Manager를 주입 받아 강제 Flush()하면 Insert를 트랜잭션 종료 후 실행할 수 있다)
-                 */
-
-                saved.addHashTag(savedTag);
-            });
+        // 태그 이름은 태그 사전(tbl_tag)에 한 번만 저장하고 게시물과는 태그 id로 연결한다.
+        List<Long> tagIds = tagDictionary.resolveIds(dto.getHashTags());
+        if (!tagIds.isEmpty()) {
+            List<HashTag> tagList = tagIds.stream()
+                    .map(tagId -> HashTag.builder()
+                            .tag(tagRepository.getReferenceById(tagId)) // SELECT 없이 id만 가진 참조 객체
+                            .post(saved) // 게시물 저장된 post 객체를 전달
+                            .build())
+                    .collect(Collectors.toList());
+
+            // 하나씩 save하지 않고 saveAll로 모아서 저장한다.
+            // HashTag의 id가 시퀀스 전략이므로 INSERT가 커밋 시점에 JDBC 배치(hibernate.jdbc.batch_size)로 묶여서 실행된다.
+            List<HashTag> savedTags = hashTagRepository.saveAll(tagList);
+
+            /*
+                Post Entity는 데이터 베이스에 save할 때 hashTags를 insert하지 않고
+                HashTag Entity는 따로 save를 진행한다.(테이블이 Post, HashTag 각각 나뉘어 있음)
+
+                HashTag는 양방향 맵핑이 되어 있는 연관관계의 주인이기 때문에
+                save를 진행할 때 Post를 전달하므로 DB와 Entity의 상태가 동일하다.
+                하지만 Post는 연관관계 주인이 아니므로 HashTag의 정보가 비어있으며 조회용(mappedBy)으로만 설정된 상태이다.
+                그러므로 위에 작성된 'saved' 객체의 hashTagList는 null이기 때문에 에러가 난다.
+
+                이 문제를 해결하기 위해 Post Entity에 연관관계 편의 메서드를 작성해
+                save된 HashTag의 내용을 바로 hashTag List에 동기화해야 한다.
+                Post를 화면단으로 return할 때 HashTag들도 같이 전달되어야 하므로.
+                (Post 객체에서 hashTagList에 @Builder.Defualt 설정 필수!)
+
+                (다른 해결 방법으로는 Entity Manager를 주입받아 Insert 완료 후 Select를 하게 하는 방법도 있다.
+                Entity Manager를 주입 받아 강제 Flush()하면 Insert를 트랜잭션 종료 후 실행할 수 있다)
+             */
+            savedTags.forEach(saved::addHashTag);
+
+            // 태그별 사용 횟수 증가 (UPDATE 한 번)
+            tagRepository.addUsageCount(tagIds, 1);
         }
 
 
+        // 게시물 수 카운터 등 커밋 이후 작업에 등록 사실을 알린다.
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getId(), PostChangedEvent.Type.CREATED));
+
         // 방금 insert 요청한 게시물 정보를 DTO로 전달
-        return new PostDetailResponseDTO(saved);
+        return toDetailDTO(saved);
     }
 
     public PostDetailResponseDTO modify(PostModifyDTO dto) {
-        
-        // 수정 전 데이터를 조회
-        Post postEntity = getPost(dto.getPostNo());
+        return modify(dto, false, true);
+    }
 
-        // 수정 시작
-        postEntity.setTitle(dto.getTitle());
-        postEntity.setContent(dto.getContent());
+    // 게시물 수정: 게시물을 먼저 조회하지 않고 UPDATE 한 번으로 변경된 컬럼만 수정한다.
+    // partial: true면 PATCH(null이 아닌 값만 변경), false면 PUT(제목/내용 전체 교체)
+    // includeTags: false면 응답에 해시태그를 담지 않는다. (태그 조회 생략)
+    public PostDetailResponseDTO modify(PostModifyDTO dto, boolean partial, boolean includeTags) {
+        if (!partial && dto.getTitle() == null) {
+            throw new IllegalArgumentException("게시물 전체 수정(PUT)에는 제목이 필요합니다.");
+        }
+        Long postNo = dto.getPostNo();
 
-        // 수정 완료
-        Post modifiedPost = postRepository.save(postEntity);
+        // 수정 시작
+        int updated = postRepository.updatePost(postNo, dto.getVersion(), dto.getTitle(), dto.getContent(), partial);
+        if (updated == 0) {
+            if (!postRepository.existsById(postNo)) {
+                throw new EntityNotFoundException(postNo + "번 게시물이 존재하지 않습니다.");
+            }
+            // 게시물은 있는데 수정되지 않았다면 전달한 버전이 이미 바뀐 것
+            throw new ObjectOptimisticLockingFailureException(Post.class, postNo);
+        }
+        eventPublisher.publishEvent(new PostChangedEvent(postNo, PostChangedEvent.Type.MODIFIED));
 
-        return new PostDetailResponseDTO(modifiedPost);
+        // 수정 완료 -> 응답에 필요한 컬럼만 다시 조회 (엔터티와 해시태그 컬렉션은 로딩하지 않음)
+        List<PostSummary> modified = findSummaries(List.of(postNo));
+        if (includeTags) return toDetailDTOs(modified).get(0);
+        return new PostDetailResponseDTO(modified.get(0), null);
     }
 
-    public void deletePost(Long id) {
-        // 삭제 하기
-        postRepository.deleteById(id);
+    // 게시물 삭제: 엔터티를 조회하지 않고 SQL 4개로 처리한다. (태그 수와 관계없음)
+    // 태그 사용 횟수 감소 -> 해시태그 번호 조회 -> 해시태그 일괄 DELETE -> 게시물 DELETE
+    // 2차 캐시는 지운 게시물과 그 해시태그만 제거된다. (PostDeleteRepositoryImpl)
+    // 반환값: 삭제된 게시물이 있으면 true (없는 게시물이면 false)
+    public boolean deletePost(Long id) {
+        // 해시태그를 지우기 전에 사용 횟수부터 줄인다. (어떤 태그가 달렸는지 해시태그로 찾으므로)
+        tagRepository.decreaseUsageCountByPostNo(id);
+        if (postRepository.deletePost(id) == 0) return false;
+
+        // 실제로 삭제된 경우에만 이벤트 발행
+        eventPublisher.publishEvent(new PostChangedEvent(id, PostChangedEvent.Type.DELETED));
+        return true;
     }
 }
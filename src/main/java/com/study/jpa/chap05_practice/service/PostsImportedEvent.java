@@ -0,0 +1,18 @@
+package com.study.jpa.chap05_practice.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 일괄 등록(PostBulkImporter)에서 chunk 하나가 저장되었음을 알리는 이벤트
+// 게시물마다 PostChangedEvent를 발행하면 구독하는 쪽(검색 색인 등)이 게시물마다 따로 조회하게 되므로
+// chunk 단위로 한 번에 알린다.
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostsImportedEvent {
+
+    private List<Long> postNos;
+}
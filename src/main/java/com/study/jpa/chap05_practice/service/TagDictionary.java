@@ -0,0 +1,144 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 태그 이름 <-> 태그 id 변환을 담당하는 메모리 캐시 (태그 사전 tbl_tag 앞단)
+// 같은 태그 이름은 캐시에 보관된 하나의 String 객체를 공유하고, 게시물-태그 연결은 정수 id로만 처리한다.
+@Component
+public class TagDictionary {
+    private final TagRepository tagRepository;
+    private final TransactionTemplate createTransaction;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    // 같은 새 태그를 동시에 등록하다 유니크 제약에 걸렸을 때 다시 조회해서 등록하는 최대 횟수
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    public TagDictionary(TagRepository tagRepository, PlatformTransactionManager transactionManager) {
+        this.tagRepository = tagRepository;
+        // 새 태그는 게시물 등록 트랜잭션과 별개로 바로 커밋한다.
+        // - 유니크 제약 위반이 나도 게시물 등록 트랜잭션은 롤백되지 않는다.
+        // - 다른 요청이 방금 커밋한 태그를 새 트랜잭션에서 다시 조회할 수 있다. (MySQL REPEATABLE READ 스냅샷 회피)
+        // 게시물 등록이 롤백되면 사용 횟수 0인 태그가 사전에 남을 수 있지만 태그 사전 자체는 잘못되지 않는다.
+        this.createTransaction = new TransactionTemplate(transactionManager);
+        this.createTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 태그 이름 정규화: 앞뒤 공백과 맨 앞의 '#'을 제거하고 소문자로 통일 ("#Spring " -> "spring")
+    public static String canonicalize(String rawName) {
+        if (rawName == null) return "";
+        String name = rawName.trim();
+        while (name.startsWith("#")) name = name.substring(1);
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 태그 이름 목록을 태그 id 목록으로 변환한다. (중복, 빈 이름 제거 / 사전에 없는 태그는 새로 등록)
+    // 캐시에 없는 이름은 IN 절 한 번으로 조회하고, 그래도 없는 이름은 별도 트랜잭션에서 한 번에 등록한다.
+    public List<Long> resolveIds(List<String> rawNames) {
+        if (rawNames == null) return List.of();
+        List<String> names = rawNames.stream()
+                .map(TagDictionary::canonicalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, Long> resolved = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        names.forEach(name -> {
+            Long id = idsByName.get(name);
+            if (id != null) resolved.put(name, id);
+            else misses.add(name);
+        });
+
+        if (!misses.isEmpty()) {
+            tagRepository.findByNameIn(misses)
+                    .forEach(tag -> resolved.put(tag.getName(), tag.getId()));
+
+            List<String> newNames = misses.stream()
+                    .filter(name -> !resolved.containsKey(name))
+                    .collect(Collectors.toList());
+            if (!newNames.isEmpty()) resolved.putAll(create(newNames));
+
+            // 조회된 태그와 새 태그 모두 커밋된 행이므로 바로 캐싱
+            misses.forEach(name -> cache(name, resolved.get(name)));
+        }
+
+        return names.stream()
+                .map(resolved::get)
+                .collect(Collectors.toList());
+    }
+
+    // 태그 이름으로 태그 id 조회 (사전에 없는 태그면 빈 값, 새로 등록하지 않는다)
+    public Optional<Long> findId(String rawName) {
+        String name = canonicalize(rawName);
+        if (name.isEmpty()) return Optional.empty();
+
+        Long id = idsByName.get(name);
+        if (id != null) return Optional.of(id);
+
+        Optional<Tag> found = tagRepository.findByName(name);
+        found.ifPresent(tag -> cache(tag.getName(), tag.getId()));
+        return found.map(Tag::getId);
+    }
+
+    // 태그 id 목록을 이름 목록으로 변환한다. (캐시에 없는 id는 IN 절 한 번으로 조회)
+    public List<String> namesOf(Collection<Long> tagIds) {
+        List<Long> misses = tagIds.stream()
+                .filter(id -> !namesById.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!misses.isEmpty()) {
+            tagRepository.findAllById(misses)
+                    .forEach(tag -> namesById.putIfAbsent(tag.getId(), tag.getName()));
+        }
+
+        return tagIds.stream()
+                .map(namesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // 사전에 없는 태그들을 새 트랜잭션에서 등록하고 커밋한다. (이름 -> id)
+    // 다른 요청이 같은 태그를 먼저 등록해서 유니크 제약(tag_name)에 걸리면
+    // 새 트랜잭션에서 다시 조회해서 이미 있는 태그는 그 id를 쓰고, 나머지만 다시 등록한다.
+    private Map<String, Long> create(List<String> names) {
+        for (int attempt = 1; ; attempt++) {
+            boolean retry = attempt > 1;
+            try {
+                return createTransaction.execute(status -> {
+                    Map<String, Long> ids = new HashMap<>();
+                    // 첫 시도는 바로 앞에서 조회했으므로 다시 조회하지 않는다.
+                    if (retry) {
+                        tagRepository.findByNameIn(names).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+                    }
+                    List<Tag> newTags = names.stream()
+                            .filter(name -> !ids.containsKey(name))
+                            .map(name -> Tag.builder().name(name).build())
+                            .collect(Collectors.toList());
+                    // 커밋 전에 flush해서 제약 위반을 이 트랜잭션 안에서 확인한다.
+                    tagRepository.saveAllAndFlush(newTags).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+                    return ids;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_CREATE_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private void cache(String name, Long id) {
+        // id -> 이름 캐시에 들어간 문자열 객체를 키로 같이 사용한다. (같은 태그 이름은 객체 하나만 유지)
+        String interned = namesById.computeIfAbsent(id, key -> name);
+        idsByName.putIfAbsent(interned, id);
+    }
+}
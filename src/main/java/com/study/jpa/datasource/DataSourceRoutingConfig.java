@@ -0,0 +1,68 @@
+package com.study.jpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// app.datasource.replica.url이 설정된 경우에만 읽기/쓰기 DataSource를 분리한다.
+// (설정하지 않으면 스프링 부트 기본 설정대로 spring.datasource 하나만 사용)
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    // 쓰기용 DB - spring.datasource.* 설정을 그대로 사용
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    // 읽기용 DB - 커넥션 풀 크기 등은 app.datasource.replica.hikari.* 로 따로 설정
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .driverClassName(properties.getDriverClassName())
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaDataSourceProperties properties
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getLagQuery(), properties.getMaxLagSeconds());
+    }
+
+    // JPA가 사용할 DataSource
+    // 트랜잭션 시작 시점이 아니라 첫 쿼리 실행 시점에 커넥션을 가져오도록 지연시켜야
+    // @Transactional(readOnly = true) 여부에 따라 라우팅할 수 있다.
+    // (P6Spy가 감싸면 커넥션을 바로 가져와 버리므로 이 빈은 decorator.datasource.exclude-beans로 제외)
+    @Bean
+    @Primary
+    public DataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.jpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 읽기 전용 복제(replica) DB 접속 정보 (app.datasource.replica.*)
+// 커넥션 풀 설정은 app.datasource.replica.hikari.* 로 primary와 따로 지정한다.
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    // 복제 지연 확인 쿼리 (비워두면 지연 확인 없이 항상 replica 사용)
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    // 복제 지연이 이 값(초)을 넘으면 replica 대신 primary에서 읽는다.
+    private long maxLagSeconds = 5;
+}
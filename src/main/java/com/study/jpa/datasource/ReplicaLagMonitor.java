@@ -0,0 +1,71 @@
+package com.study.jpa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+// replica의 복제 지연을 주기적으로 확인한다.
+// 지연이 허용치를 넘거나 replica에 접속할 수 없으면 읽기 요청도 primary로 보내도록 표시한다.
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaAvailable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean available = measure();
+        if (available != replicaAvailable) {
+            log.warn("replica 사용 가능 여부 변경: {} -> {}", replicaAvailable, available);
+        }
+        replicaAvailable = available;
+    }
+
+    private boolean measure() {
+        if (!StringUtils.hasText(lagQuery)) return true;
+        try {
+            List<Long> lags = jdbcTemplate.query(lagQuery, (rs, rowNum) -> readLag(rs));
+            // 결과가 없으면 복제 설정이 없는 서버(로컬/테스트용 DB)이므로 지연 없음으로 간주
+            if (lags.isEmpty()) return true;
+            Long lag = lags.get(0);
+            // NULL이면 복제가 멈춘 상태
+            return lag != null && lag <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            log.warn("replica 복제 지연 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // MySQL 8.0.22 이후는 Seconds_Behind_Source, 이전 버전은 Seconds_Behind_Master
+    private static Long readLag(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String column = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                long lag = rs.getLong(i);
+                return rs.wasNull() ? null : lag;
+            }
+        }
+        return null;
+    }
+}
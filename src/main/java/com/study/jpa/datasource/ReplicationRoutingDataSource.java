@@ -0,0 +1,32 @@
+package com.study.jpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// readOnly 트랜잭션은 replica로, 그 외(쓰기, 트랜잭션 밖)는 primary로 커넥션을 가져온다.
+// 트랜잭션의 readOnly 여부는 커넥션을 실제로 가져올 때 결정되어 있어야 하므로
+// 반드시 LazyConnectionDataSourceProxy로 감싸서 사용한다. (DataSourceRoutingConfig 참고)
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        // 복제 지연이 크면 읽기 요청도 primary에서 처리
+        return (readOnly && lagMonitor.isReplicaAvailable()) ? REPLICA : PRIMARY;
+    }
+}
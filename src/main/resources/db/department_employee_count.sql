@@ -0,0 +1,9 @@
+-- tbl_dept 부서별 사원 수(employee_count) 컬럼 추가 및 기존 데이터 채우기
+-- 새 버전을 기동하기 전에 실행한다. (ddl-auto: update로 컬럼만 생성된 경우 2번만 실행)
+
+-- 1. 사원 수 컬럼 추가
+ALTER TABLE tbl_dept ADD COLUMN employee_count BIGINT NOT NULL DEFAULT 0;
+
+-- 2. 현재 사원 수로 채우기 (DepartmentRepository.reconcileEmployeeCounts와 같은 쿼리)
+UPDATE tbl_dept d
+SET employee_count = (SELECT COUNT(*) FROM tbl_emp e WHERE e.dept_id = d.dept_id);
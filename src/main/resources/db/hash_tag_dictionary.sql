@@ -0,0 +1,36 @@
+-- tbl_hash_tag.tag_name(태그 이름 문자열) -> 태그 사전(tbl_tag) + tag_id 참조로 옮기는 작업
+-- 새 버전을 한 번 기동해서(ddl-auto: update) tbl_tag, tbl_tag_seq, tbl_hash_tag.tag_id가 생성된 후에 실행한다.
+-- 태그 이름 정규화 규칙은 TagDictionary.canonicalize와 같다. (공백, 맨 앞 '#' 제거 후 소문자)
+
+-- 1. 기존 태그 이름을 정규화해서 태그 사전에 등록 (사용 횟수 = 태그가 달린 게시물 수)
+INSERT INTO tbl_tag (tag_id, tag_name, usage_count)
+SELECT ROW_NUMBER() OVER (ORDER BY t.name), t.name, t.cnt
+FROM (
+    SELECT LOWER(TRIM(TRIM(LEADING '#' FROM TRIM(tag_name)))) AS name,
+           COUNT(DISTINCT post_no) AS cnt
+    FROM tbl_hash_tag
+    WHERE tag_id IS NULL AND tag_name IS NOT NULL
+    GROUP BY name
+) t
+WHERE t.name <> '';
+
+-- 2. 태그 사전 시퀀스 시작값 (pooled 할당 크기 50만큼 여유)
+DELETE FROM tbl_tag_seq;
+INSERT INTO tbl_tag_seq (next_val)
+SELECT COALESCE(MAX(tag_id), 0) + 51 FROM tbl_tag;
+
+-- 3. 게시물-태그 연결을 tag_id로 변경
+UPDATE tbl_hash_tag h
+JOIN tbl_tag t ON t.tag_name = LOWER(TRIM(TRIM(LEADING '#' FROM TRIM(h.tag_name))))
+SET h.tag_id = t.tag_id
+WHERE h.tag_id IS NULL;
+
+-- 4. 이름이 비어 있던 태그, 한 게시물에 중복으로 달린 태그 정리
+DELETE FROM tbl_hash_tag WHERE tag_id IS NULL;
+
+DELETE h1 FROM tbl_hash_tag h1
+JOIN tbl_hash_tag h2
+  ON h1.post_no = h2.post_no AND h1.tag_id = h2.tag_id AND h1.tag_no > h2.tag_no;
+
+-- 5. 더 이상 사용하지 않는 태그 이름 컬럼 삭제
+ALTER TABLE tbl_hash_tag DROP COLUMN tag_name;
@@ -0,0 +1,10 @@
+-- HashTag id 생성 전략을 IDENTITY -> 시퀀스(pooled, allocationSize = 50)로 변경하면서 필요한 작업
+-- 기존 tbl_hash_tag 데이터가 있는 DB에서 애플리케이션 배포 전에 한 번 실행한다.
+-- (시퀀스 테이블이 1부터 시작하면 기존 tag_no와 번호가 겹쳐서 INSERT가 실패한다)
+CREATE TABLE IF NOT EXISTS tbl_hash_tag_seq (next_val BIGINT);
+
+DELETE FROM tbl_hash_tag_seq;
+
+-- pooled 방식은 한 번에 50개씩 번호를 가져가므로 여유 있게 할당 크기만큼 더해 둔다.
+INSERT INTO tbl_hash_tag_seq (next_val)
+SELECT COALESCE(MAX(tag_no), 0) + 51 FROM tbl_hash_tag;
@@ -0,0 +1,4 @@
+-- tbl_post 낙관적 잠금용 version 컬럼 추가
+-- 기존 행은 0으로 채워진다. (NULL이면 Hibernate가 버전 비교를 할 수 없음)
+
+ALTER TABLE tbl_post ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- 학생 이름/전공 부분 문자열 검색용 n-gram FULLTEXT 인덱스 (MySQL 5.7.6 이상)
+-- 서버 시작 시 StudentNgramIndex가 없으면 자동으로 만들지만,
+-- 애플리케이션 계정에 ALTER 권한이 없는 운영 DB에서는 이 스크립트를 미리 실행한다.
+-- 토큰 길이는 서버 설정 ngram_token_size(기본 2)를 따른다.
+
+ALTER TABLE tbl_student ADD FULLTEXT INDEX ft_student_name (stu_name) WITH PARSER ngram;
+ALTER TABLE tbl_student ADD FULLTEXT INDEX ft_student_major (major) WITH PARSER ngram;
@@ -0,0 +1,17 @@
+-- tbl_student.stu_id: varchar(36) 랜덤 UUID 문자열 -> binary(16) (MySQL 8.0 이상)
+-- ddl-auto: update는 기존 컬럼 타입을 바꾸지 않으므로 애플리케이션 배포 전에 실행한다.
+-- 기존 행의 id 값은 그대로 유지하고(형식만 16바이트로 변환), 새 행부터 UUIDv7이 부여된다.
+-- UUID_TO_BIN(값)은 swap 없이 변환해야 Hibernate가 읽는 바이트 순서와 같다.
+
+ALTER TABLE tbl_student ADD COLUMN stu_id_bin BINARY(16) NULL;
+
+UPDATE tbl_student SET stu_id_bin = UUID_TO_BIN(stu_id);
+
+ALTER TABLE tbl_student
+    DROP PRIMARY KEY,
+    DROP COLUMN stu_id,
+    CHANGE COLUMN stu_id_bin stu_id BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (stu_id);
+
+-- 변환 후 PK 페이지 정리 (선택)
+OPTIMIZE TABLE tbl_student;
@@ -0,0 +1,69 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk마다 별도 트랜잭션으로 커밋되므로 테스트에 @Transactional을 붙이지 않는다.
+@SpringBootTest
+class StudentBulkDeleteTest {
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    static final String NAME = "벌크삭제대상";
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteByNameInChunks(NAME, 100);
+    }
+
+    private void insert(int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(Student.builder().name(NAME).city("도시" + i).major("전공").build());
+        }
+        studentRepository.saveAll(students);
+    }
+
+    @Test
+    @DisplayName("chunk 단위로 나눠 삭제하고 전체 삭제 건수를 반환한다.")
+    void testDeleteInChunks() {
+        //given
+        insert(25);
+
+        //when
+        int deleted = studentRepository.deleteByNameInChunks(NAME, 10);
+
+        //then
+        assertEquals(25, deleted);
+        assertTrue(studentRepository.findByName(NAME).isEmpty());
+    }
+
+    @Test
+    @DisplayName("벌크 삭제 후에는 같은 트랜잭션에서도 삭제된 엔터티가 조회되지 않는다.")
+    void testBulkDeleteClearsPersistenceContext() {
+        //given
+        insert(3);
+
+        //when, then
+        transactionTemplate.executeWithoutResult(status -> {
+            UUID id = studentRepository.findByName(NAME).get(0).getId(); // 영속성 컨텍스트에 올라감
+            assertEquals(3, studentRepository.deleteByNameWithJPQL(NAME));
+            // clearAutomatically가 없으면 1차 캐시에 남은 엔터티가 반환된다.
+            assertTrue(studentRepository.findById(id).isEmpty());
+        });
+    }
+}
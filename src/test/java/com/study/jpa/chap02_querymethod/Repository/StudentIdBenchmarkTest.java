@@ -0,0 +1,116 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 변경 전 tbl_student(랜덤 UUIDv4 문자열 PK, varchar(36))와 변경 후(UUIDv7, binary(16))를 같은 구조의 임시 테이블에 넣어 비교한다.
+// 페이지 분할은 InnoDB B-tree의 문제라서 MySQL(InnoDB)에서만 의미가 있다. 다른 DB에서는 건너뛴다.
+// 실행 시간이 길어서 기본 test 태스크에서는 제외된다. -> ./gradlew benchmark (-Dbenchmark.rows=200000 으로 행 수 변경)
+@Tag("benchmark")
+@SpringBootTest
+class StudentIdBenchmarkTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    static final int BATCH_SIZE = 1_000;
+
+    @BeforeEach
+    void requireInnoDb() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        assumeTrue("MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database),
+                database + "에서는 측정하지 않음");
+        String engine = jdbcTemplate.queryForObject(
+                "SELECT ENGINE FROM information_schema.ENGINES WHERE SUPPORT = 'DEFAULT'", String.class);
+        assumeTrue("InnoDB".equalsIgnoreCase(engine), "InnoDB 기본 엔진이 아니면 측정하지 않음");
+    }
+
+    @Test
+    @DisplayName("varchar(36) 랜덤 UUID(v4) PK와 binary(16) UUIDv7 PK의 INSERT 처리량, 테이블 크기 비교")
+    void compareInsertThroughput() {
+        // 워밍업 (JIT, 커넥션 풀)
+        measure("bench_student_warmup", "VARCHAR(36)", () -> UUID.randomUUID().toString(), BATCH_SIZE * 10);
+
+        // 변경 전: tbl_student 그대로 (UUID 문자열)
+        Result before = measure("bench_student_v4_char", "VARCHAR(36)", () -> UUID.randomUUID().toString(), ROWS);
+        // 대조군: 저장 형식만 binary(16)으로 바꾸고 여전히 랜덤 키
+        Result v4Binary = measure("bench_student_v4_bin", "BINARY(16)", () -> toBytes(UUID.randomUUID()), ROWS);
+        // 변경 후: 시간순 UUIDv7을 binary(16)으로
+        Result after = measure("bench_student_v7_bin", "BINARY(16)", () -> toBytes(UuidV7Generator.nextUuid()), ROWS);
+
+        System.out.printf("INSERT %d rows (batch %d)%n", ROWS, BATCH_SIZE);
+        System.out.println("  varchar(36) v4 : " + before);
+        System.out.println("  binary(16)  v4 : " + v4Binary);
+        System.out.println("  binary(16)  v7 : " + after);
+        System.out.printf("  v7/varchar v4 = x%.2f rows/s, data %.0f%%%n",
+                after.rowsPerSecond / before.rowsPerSecond, 100.0 * after.dataBytes / before.dataBytes);
+    }
+
+    private Result measure(String table, String idType, Supplier<Object> idSupplier, int rows) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (" +
+                "stu_id " + idType + " NOT NULL PRIMARY KEY, " +
+                "stu_name VARCHAR(255) NOT NULL, city VARCHAR(255), major VARCHAR(255)) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i += BATCH_SIZE) {
+                List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                for (int j = i; j < Math.min(i + BATCH_SIZE, rows); j++) {
+                    batch.add(new Object[]{idSupplier.get(), "학생" + j, "도시" + (j % 100), "전공" + (j % 50)});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " VALUES (?, ?, ?, ?)", batch);
+            }
+            double rowsPerSecond = rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+            // 통계를 갱신해야 information_schema의 크기가 실제 페이지 수를 반영한다.
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+            Map<String, Object> size = jdbcTemplate.queryForMap(
+                    "SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", table);
+            return new Result(rowsPerSecond,
+                    ((Number) size.get("DATA_LENGTH")).longValue(),
+                    ((Number) size.get("INDEX_LENGTH")).longValue());
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    // dataBytes: 클러스터드 인덱스(PK + 행 데이터) 크기
+    @RequiredArgsConstructor
+    private static class Result {
+        private final double rowsPerSecond;
+        private final long dataBytes;
+        private final long indexBytes;
+
+        @Override
+        public String toString() {
+            return String.format("%.0f rows/s, data %.1f MiB, index %.1f MiB",
+                    rowsPerSecond, dataBytes / 1048576.0, indexBytes / 1048576.0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// 서버 시작 시 n-gram FULLTEXT 인덱스 확인/생성 (MySQL 응답은 JdbcTemplate을 대신해서 돌려준다)
+class StudentNgramIndexTest {
+    JdbcTemplate jdbcTemplate;
+    StudentNgramIndex ngramIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("MySQL");
+        when(jdbcTemplate.queryForObject("SELECT @@ngram_token_size", Integer.class)).thenReturn(2);
+        ngramIndex = new StudentNgramIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(ngramIndex, "enabled", true);
+    }
+
+    private void existingIndexes(String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(names));
+    }
+
+    @Test
+    @DisplayName("인덱스가 이미 있으면 다시 만들지 않는다.")
+    void testIndexExists() {
+        // given
+        existingIndexes("PRIMARY", "FT_STUDENT_NAME", "ft_student_major");
+
+        // when
+        ngramIndex.createIfMissing();
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertTrue(ngramIndex.canSearch("홍길"));
+    }
+
+    @Test
+    @DisplayName("없는 인덱스만 한 번씩 만든다.")
+    void testCreateMissing() {
+        // given
+        existingIndexes("PRIMARY", "ft_student_name");
+
+        // when
+        ngramIndex.createIfMissing();
+
+        // then
+        verify(jdbcTemplate, times(1)).execute(anyString());
+        verify(jdbcTemplate).execute(
+                "ALTER TABLE tbl_student ADD FULLTEXT INDEX ft_student_major (major) WITH PARSER ngram");
+    }
+
+    @Test
+    @DisplayName("n-gram 토큰 길이보다 짧은 단어가 있으면 인덱스로 검색하지 않는다.")
+    void testCanSearch() {
+        // given
+        existingIndexes("ft_student_name", "ft_student_major");
+        ngramIndex.createIfMissing();
+
+        // then
+        assertTrue(ngramIndex.canSearch("홍길동"));
+        assertTrue(ngramIndex.canSearch("수학 교육"));
+        assertFalse(ngramIndex.canSearch("홍"));
+        assertFalse(ngramIndex.canSearch("수학 과"));
+        assertFalse(ngramIndex.canSearch(" "));
+        assertFalse(ngramIndex.canSearch(null));
+    }
+
+    @Test
+    @DisplayName("MySQL이 아니면 인덱스를 만들지 않고 LIKE로 검색한다.")
+    void testNotMySql() {
+        // given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        // when
+        ngramIndex.createIfMissing();
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+        assertFalse(ngramIndex.canSearch("홍길동"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// MATCH ... AGAINST 경로는 MySQL에서만 실행할 수 있으므로, 만들어지는 SQL과 바인딩 값을 확인한다.
+// (실제 DB 조회 결과는 StudentSearchRepositoryTest)
+class StudentSearchRepositoryImplTest {
+    EntityManager entityManager;
+    StudentNgramIndex ngramIndex;
+    Query query;
+    StudentSearchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        ngramIndex = mock(StudentNgramIndex.class);
+        query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString(), eq(Student.class))).thenReturn(query);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        when(query.getSingleResult()).thenReturn(0L);
+        repository = new StudentSearchRepositoryImpl(entityManager, ngramIndex);
+    }
+
+    // 실행된 목록 조회 SQL (엔터티 타입을 함께 넘긴 createNativeQuery 호출)
+    private String selectSql() {
+        return mockingDetails(entityManager).getInvocations().stream()
+                .filter(invocation -> invocation.getArguments().length == 2)
+                .map(invocation -> (String) invocation.getArgument(0))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("인덱스로 검색할 수 있으면 MATCH로 후보를 찾고 LIKE로 포함 여부를 다시 확인한다.")
+    void testMatchAgainst() {
+        // given
+        when(ngramIndex.canSearch("김_테%")).thenReturn(true);
+
+        // when
+        repository.searchByNameWithJPQL("김_테%");
+
+        // then
+        String sql = selectSql();
+        assertTrue(sql.contains("MATCH(stu_name) AGAINST(:phrase IN BOOLEAN MODE)"), sql);
+        assertTrue(sql.contains("stu_name LIKE :pattern ESCAPE '!'"), sql);
+        verify(query).setParameter("phrase", "\"김_테%\"");
+        verify(query).setParameter("pattern", "%김!_테!%%");
+    }
+
+    @Test
+    @DisplayName("n-gram 토큰보다 짧은 검색어는 MATCH 없이 이스케이프된 LIKE로만 검색한다.")
+    void testLikeFallback() {
+        // given
+        when(ngramIndex.canSearch("%")).thenReturn(false);
+
+        // when
+        repository.findByMajorContaining("%");
+
+        // then
+        String sql = selectSql();
+        assertFalse(sql.contains("MATCH"), sql);
+        assertTrue(sql.contains("WHERE major LIKE :pattern ESCAPE '!'"), sql);
+        verify(query).setParameter("pattern", "%!%%");
+        verify(query, never()).setParameter(eq("phrase"), any());
+    }
+
+    @Test
+    @DisplayName("정렬 조건의 필드명은 컬럼명으로 바뀌고 페이지는 OFFSET/LIMIT으로 적용된다.")
+    void testPagingAndSort() {
+        // when
+        repository.findByNameContaining("홍길", PageRequest.of(2, 10, Sort.by(Sort.Order.desc("name"), Sort.Order.asc("city"))));
+
+        // then
+        assertTrue(selectSql().endsWith(" ORDER BY stu_name DESC, city ASC"));
+        verify(query).setFirstResult(20);
+        verify(query).setMaxResults(10);
+    }
+}
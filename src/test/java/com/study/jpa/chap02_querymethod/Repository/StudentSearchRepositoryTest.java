@@ -0,0 +1,95 @@
+package com.study.jpa.chap02_querymethod.Repository;
+
+import com.study.jpa.chap02_querymethod.entity.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// MySQL의 FULLTEXT 인덱스는 커밋된 행만 검색하므로 테스트에 @Transactional을 붙이지 않고, 등록한 학생은 테스트 후 삭제한다.
+// MySQL에서는 n-gram 토큰 길이 이상인 검색어가 MATCH ... AGAINST로, 그 외 DB나 짧은 검색어는 LIKE로 조회된다.
+@SpringBootTest
+class StudentSearchRepositoryTest {
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    StudentNgramIndex ngramIndex;
+
+    static final List<String> NAMES = List.of(
+            "검색페이지가", "검색페이지나", "검색페이지다", "검색페이지라", "검색페이지마",
+            "할인100%", "할인100원", "밑줄_이름", "밑줄X이름", "외자뷁"
+    );
+
+    @BeforeEach
+    void setUp() {
+        NAMES.forEach(name -> studentRepository.save(
+                Student.builder().name(name).city(name.endsWith("가") ? "부산" : "서울").major("검색전공").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        NAMES.forEach(name -> studentRepository.deleteByNameInChunks(name, 100));
+    }
+
+    private List<String> names(List<Student> students) {
+        return students.stream().map(Student::getName).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("검색어의 %, _는 와일드카드가 아니라 일반 문자로 검색된다.")
+    void testEscapeWildcards() {
+        assertEquals(List.of("할인100%"), names(studentRepository.searchByNameWithJPQL("0%")));
+        assertEquals(List.of("할인100%"), names(studentRepository.searchByNameWithJPQL("%")));
+        assertEquals(List.of("밑줄_이름"), names(studentRepository.searchByNameWithJPQL("_")));
+        assertEquals(List.of("밑줄_이름"), names(studentRepository.searchByNameWithJPQL("줄_이")));
+    }
+
+    @Test
+    @DisplayName("n-gram 토큰보다 짧은 검색어도 LIKE로 찾는다.")
+    void testShortKeyword() {
+        // 한 글자는 n-gram 인덱스(기본 2글자 토큰)로 찾을 수 없다.
+        assertFalse(ngramIndex.canSearch("뷁"));
+        assertEquals(List.of("외자뷁"), names(studentRepository.searchByNameWithJPQL("뷁")));
+    }
+
+    @Test
+    @DisplayName("이름 부분 검색 결과를 페이지 크기와 정렬 조건(필드명 -> 컬럼명)대로 나눈다.")
+    void testPagingAndSort() {
+        // given
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Order.asc("city"), Sort.Order.desc("name")));
+
+        // when
+        Page<Student> page = studentRepository.findByNameContaining("검색페이지", pageRequest);
+
+        // then
+        // 부산(가) -> 서울(마, 라, 다, 나) 순서에서 두 번째 페이지
+        assertEquals(List.of("검색페이지라", "검색페이지다"), page.getContent().stream().map(Student::getName).toList());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    @DisplayName("엔터티에 없는 필드로 정렬하면 예외가 발생한다.")
+    void testUnknownSort() {
+        // 구현에서 던진 IllegalArgumentException을 리포지토리 프록시가 스프링 예외로 변환한다.
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> studentRepository.findByNameContaining(
+                "검색페이지", PageRequest.of(0, 2, Sort.by("stu_name; DROP TABLE tbl_student"))));
+    }
+
+    @Test
+    @DisplayName("전공 부분 검색")
+    void testMajorContaining() {
+        assertEquals(NAMES.size(), studentRepository.findByMajorContaining("검색전공").size());
+    }
+}
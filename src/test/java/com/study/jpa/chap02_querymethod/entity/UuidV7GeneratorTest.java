@@ -0,0 +1,43 @@
+package com.study.jpa.chap02_querymethod.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("UUIDv7은 생성 순서대로 정렬되고 버전/variant 비트가 올바르다.")
+    void testOrdering() {
+        //given
+        UUID previous = UuidV7Generator.nextUuid();
+
+        //when, then
+        // 같은 밀리초 안에서 많이 생성해도(순번 12비트 초과) 순서가 유지되어야 한다.
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = UuidV7Generator.nextUuid();
+            assertEquals(7, next.version());
+            assertEquals(2, next.variant());
+            assertTrue(previous.compareTo(next) < 0, previous + " < " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("UUIDv7의 앞 48비트는 생성 시각(밀리초)이다.")
+    void testTimestamp() {
+        //given
+        long before = System.currentTimeMillis();
+
+        //when
+        UUID uuid = UuidV7Generator.nextUuid();
+
+        //then
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        // 같은 밀리초에 순번을 다 쓰면 다음 밀리초 값을 미리 쓰므로 약간 앞설 수 있다.
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000);
+    }
+}
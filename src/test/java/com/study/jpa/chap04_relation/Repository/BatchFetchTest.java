@@ -0,0 +1,80 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 지연 로딩 연관관계를 순회할 때 실행되는 SQL 수의 상한을 확인한다. (N+1 회귀 방지)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BatchFetchTest {
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+
+    static final int DEPARTMENTS = 30;
+    static final int EMPLOYEES_PER_DEPARTMENT = 5;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            Department dept = departmentRepository.save(Department.builder().name("배치부서" + i).build());
+            for (int j = 0; j < EMPLOYEES_PER_DEPARTMENT; j++) {
+                employeeRepository.save(Employee.builder().name("사원" + i + "-" + j).department(dept).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("부서 목록을 순회하며 사원 목록에 접근해도 사원은 IN 절로 묶어서 조회된다")
+    void testDepartmentsWithEmployees() {
+        // when
+        List<Department> departments = departmentRepository.findAll();
+        long employees = departments.stream()
+                .mapToLong(dept -> dept.getEmployees().size())
+                .sum();
+
+        // then
+        assertTrue(employees >= (long) DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT);
+        // 부서 조회 + 사원 배치 조회 (부서 100개당 1개)
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + (departments.size() + 99) / 100,
+                "실행된 SQL 수: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("사원 목록을 순회하며 부서 이름에 접근해도 부서는 IN 절로 묶어서 조회된다")
+    void testEmployeesWithDepartment() {
+        // when
+        List<Employee> employees = employeeRepository.findAll();
+        employees.forEach(employee -> employee.getDepartment().getName());
+
+        // then
+        // 사원 조회 + 부서 배치 조회 (부서 100개당 1개)
+        long departmentCount = employees.stream().map(e -> e.getDepartment().getId()).distinct().count();
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + (departmentCount + 99) / 100,
+                "실행된 SQL 수: " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,143 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.dto.DepartmentHeadCount;
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class DepartmentEmployeeCountTest {
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Long> deptIds = new ArrayList<>();
+    List<Long> empIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 부서 i에는 사원 i명 (부서 0은 사원 없음)
+        for (int i = 0; i < 3; i++) {
+            Department dept = departmentRepository.save(Department.builder().name("인원부서" + i).build());
+            deptIds.add(dept.getId());
+            for (int j = 0; j < i; j++) {
+                empIds.add(employeeRepository.save(
+                        Employee.builder().name("사원" + i + "-" + j).department(dept).build()).getId());
+            }
+        }
+        // 테스트 트랜잭션이 없으면(NOT_SUPPORTED) save마다 이미 커밋되어 있다.
+        if (TestTransaction.isActive()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    // 부서 번호 -> 사원 수 컬럼 값
+    private Map<Long, Long> counters() {
+        return departmentRepository.findHeadCountsFromCounter().stream()
+                .collect(Collectors.toMap(DepartmentHeadCount::getDeptId, DepartmentHeadCount::getEmployeeCount));
+    }
+
+    // 부서 번호 -> 실제 사원 수 (GROUP BY 집계)
+    private Map<Long, Long> actual() {
+        return departmentRepository.findHeadCounts().stream()
+                .collect(Collectors.toMap(DepartmentHeadCount::getDeptId, DepartmentHeadCount::getEmployeeCount));
+    }
+
+    @Test
+    @DisplayName("사원 등록 시 부서의 사원 수 컬럼이 증가한다")
+    void testInsert() {
+        // then
+        Map<Long, Long> counters = counters();
+        for (int i = 0; i < deptIds.size(); i++) {
+            assertEquals(i, counters.get(deptIds.get(i)));
+        }
+        assertEquals(2, departmentRepository.findById(deptIds.get(2)).orElseThrow().getEmployeeCount());
+    }
+
+    @Test
+    @DisplayName("변경 감지로 부서를 옮기거나 사원을 삭제하면 사원 수 컬럼도 함께 바뀐다")
+    void testChangeAndDelete() {
+        // given
+        Employee moved = employeeRepository.findById(empIds.get(0)).orElseThrow(); // 부서 1 소속
+        Department target = departmentRepository.findById(deptIds.get(0)).orElseThrow();
+
+        // when
+        moved.setDepartment(target);
+        employeeRepository.deleteById(empIds.get(1)); // 부서 2 소속
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        Map<Long, Long> counters = counters();
+        assertEquals(1, counters.get(deptIds.get(0)));
+        assertEquals(0, counters.get(deptIds.get(1)));
+        assertEquals(1, counters.get(deptIds.get(2)));
+        deptIds.forEach(id -> assertEquals(actual().get(id), counters.get(id)));
+    }
+
+    @Test
+    @DisplayName("벌크 삭제로 어긋난 사원 수는 reconcile로 다시 맞춘다")
+    void testReconcile() {
+        // given
+        // JPQL 벌크 DELETE는 이벤트 리스너를 거치지 않는다.
+        entityManager.createQuery("DELETE FROM Employee e WHERE e.department.id = :deptId")
+                .setParameter("deptId", deptIds.get(2))
+                .executeUpdate();
+        assertEquals(2, counters().get(deptIds.get(2)));
+
+        // when
+        int fixed = departmentRepository.reconcileEmployeeCounts();
+
+        // then
+        assertTrue(fixed >= 1);
+        assertEquals(0, counters().get(deptIds.get(2)));
+        assertEquals(0, departmentRepository.reconcileEmployeeCounts());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 테스트 트랜잭션 없이 실행
+    @DisplayName("트랜잭션 밖에서 호출해도 reconcile이 실행된다")
+    void testReconcileWithoutTransaction() {
+        try {
+            // given
+            jdbcTemplate.update("UPDATE tbl_dept SET employee_count = 5 WHERE dept_id = ?", deptIds.get(1));
+
+            // when
+            int fixed = departmentRepository.reconcileEmployeeCounts();
+
+            // then
+            assertTrue(fixed >= 1);
+            assertEquals(1, counters().get(deptIds.get(1)));
+        } finally {
+            // 트랜잭션이 없어서 setUp에서 저장한 데이터가 커밋되었으므로 직접 정리
+            employeeRepository.deleteAllById(empIds);
+            departmentRepository.deleteAllById(deptIds);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DepartmentPagingTest {
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+    List<Long> deptIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 부서 i에는 사원 i명 (부서 0은 사원 없음)
+        for (int i = 0; i < 12; i++) {
+            Department dept = departmentRepository.save(Department.builder().name("페이징부서" + i).build());
+            deptIds.add(dept.getId());
+            for (int j = 0; j < i; j++) {
+                employeeRepository.save(Employee.builder().name("사원" + i + "-" + j).department(dept).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("부서 번호로 페이징한 뒤 해당 부서만 사원과 함께 조회한다")
+    void testFindAllIncludesEmployeesPaged() {
+        // when
+        Page<Department> page = departmentRepository.findAllIncludesEmployees(
+                PageRequest.of(1, 5, Sort.by("id").descending()));
+
+        // then
+        // 번호 페이지 + count + 부서/사원 fetch join (사원 수와 관계없음)
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(page.getTotalElements() >= 12);
+        assertEquals(5, page.getContent().size());
+
+        Long previous = Long.MAX_VALUE;
+        for (Department dept : page.getContent()) {
+            assertTrue(dept.getId() < previous); // 번호 페이지의 정렬 순서 유지
+            previous = dept.getId();
+            int index = deptIds.indexOf(dept.getId());
+            if (index >= 0) assertEquals(index, dept.getEmployees().size());
+        }
+        // 사원 목록은 이미 채워져 있으므로 추가 쿼리가 없다.
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("페이징 조회한 부서의 사원 목록은 그 페이지 부서의 사원만 쿼리 한 번으로 가져온다")
+    void testLazyEmployeesOnPagedFindAll() {
+        // given
+        // 새로 만든 부서가 번호가 가장 크므로 역순 두 번째 페이지는 부서 6 ~ 2 (사원 6 + 5 + 4 + 3 + 2명)
+        Page<Department> page = departmentRepository.findAll(PageRequest.of(1, 5, Sort.by("id").descending()));
+        statistics.clear();
+
+        // when
+        page.getContent().get(0).getEmployees().size(); // 첫 부서의 사원 목록에 접근
+
+        // then
+        // 페이지 부서 5개의 사원 목록이 한 번에 채워지고, 다른 부서의 사원은 읽지 않는다.
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, statistics.getCollectionLoadCount());
+        assertEquals(20, statistics.getEntityLoadCount());
+        for (Department dept : page.getContent()) {
+            assertTrue(Hibernate.isInitialized(dept.getEmployees()));
+            assertEquals(deptIds.indexOf(dept.getId()), dept.getEmployees().size());
+        }
+    }
+
+    @Test
+    @DisplayName("스트림 조회는 부서를 한 번씩만 사원과 함께 넘겨준다")
+    void testStreamAllIncludesEmployees() {
+        // when
+        List<Long> streamed = new ArrayList<>();
+        try (Stream<Department> departments = departmentRepository.streamAllIncludesEmployees(100)) {
+            departments.forEach(dept -> {
+                streamed.add(dept.getId());
+                int index = deptIds.indexOf(dept.getId());
+                if (index >= 0) assertEquals(index, dept.getEmployees().size());
+                entityManager.detach(dept);
+            });
+        }
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(streamed.stream().distinct().count(), streamed.size());
+        assertTrue(streamed.containsAll(deptIds)); // 사원 없는 부서도 포함
+    }
+}
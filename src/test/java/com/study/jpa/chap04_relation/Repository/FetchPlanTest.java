@@ -0,0 +1,114 @@
+package com.study.jpa.chap04_relation.Repository;
+
+import com.study.jpa.chap04_relation.dto.DepartmentHeadCount;
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class FetchPlanTest {
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+    PersistenceUnitUtil util;
+    List<Long> deptIds = new ArrayList<>();
+    List<Long> empIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 부서 i에는 사원 i명 (부서 0은 사원 없음)
+        for (int i = 0; i < 4; i++) {
+            Department dept = departmentRepository.save(Department.builder().name("계획부서" + i).build());
+            deptIds.add(dept.getId());
+            for (int j = 0; j < i; j++) {
+                empIds.add(employeeRepository.save(
+                        Employee.builder().name("사원" + i + "-" + j).department(dept).build()).getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    }
+
+    @Test
+    @DisplayName("사원 + 부서 조회 계획은 부서까지 쿼리 하나로 가져온다")
+    void testEmployeesWithDepartment() {
+        // when
+        List<Employee> employees = employeeRepository.findAllById(empIds, EmployeeFetchPlan.WITH_DEPARTMENT);
+        employees.forEach(employee -> employee.getDepartment().getName());
+
+        // then
+        assertEquals(empIds.size(), employees.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // 사원만 조회하면 부서는 초기화되지 않은 프록시
+        entityManager.clear();
+        Employee employee = employeeRepository.findById(empIds.get(0), EmployeeFetchPlan.EMPLOYEE_ONLY).orElseThrow();
+        assertFalse(util.isLoaded(employee.getDepartment()));
+        entityManager.clear();
+        employee = employeeRepository.findById(empIds.get(0), EmployeeFetchPlan.WITH_DEPARTMENT).orElseThrow();
+        assertTrue(util.isLoaded(employee.getDepartment()));
+    }
+
+    @Test
+    @DisplayName("부서 + 사원 조회 계획은 부서를 중복 없이 사원 목록과 함께 가져온다")
+    void testDepartmentsWithEmployees() {
+        // when
+        List<Department> departments = departmentRepository.findAllById(deptIds, DepartmentFetchPlan.WITH_EMPLOYEES);
+
+        // then
+        assertEquals(deptIds.size(), departments.size());
+        for (int i = 0; i < departments.size(); i++) {
+            assertEquals(i, departments.get(i).getEmployees().size());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        Department department = departmentRepository.findById(deptIds.get(1), DepartmentFetchPlan.DEPARTMENT_ONLY).orElseThrow();
+        assertFalse(util.isLoaded(department, "employees"));
+    }
+
+    @Test
+    @DisplayName("부서별 인원 수는 사원 엔터티를 로딩하지 않고 쿼리 하나로 조회한다")
+    void testHeadCounts() {
+        // when
+        Map<Long, DepartmentHeadCount> headCounts = departmentRepository.findHeadCounts().stream()
+                .collect(Collectors.toMap(DepartmentHeadCount::getDeptId, Function.identity()));
+
+        // then
+        for (int i = 0; i < deptIds.size(); i++) {
+            DepartmentHeadCount headCount = headCounts.get(deptIds.get(i));
+            assertEquals("계획부서" + i, headCount.getName());
+            assertEquals(i, headCount.getEmployeeCount());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -5,18 +5,30 @@ import com.study.jpa.chap05_practice.repository.PostRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
-@SpringBootTest
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "post.search.rebuild-token=test-token")
+@AutoConfigureMockMvc
 @Transactional
 @Rollback(value = false)
 class PostApiControllerTest {
     @Autowired
     PostRepository postRepository;
 
+    @Autowired
+    MockMvc mockMvc;
+
     @Test
     @DisplayName("bulk insert")
     void bulkInsert() {
@@ -31,4 +43,103 @@ class PostApiControllerTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("검색 색인 재생성은 관리자 토큰이 맞아야 하고, 최소 간격 안에 다시 요청하면 429로 거부된다")
+    void testRebuildRestricted() throws Exception {
+        String url = "/api/v1/posts/search/rebuild";
+        mockMvc.perform(post(url)).andExpect(status().isForbidden());
+        mockMvc.perform(post(url).header("X-Admin-Token", "wrong")).andExpect(status().isForbidden());
+        mockMvc.perform(post(url).header("X-Admin-Token", "test-token")).andExpect(status().isOk());
+        mockMvc.perform(post(url).header("X-Admin-Token", "test-token")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @Rollback
+    @DisplayName("커서 모드에서 size가 1보다 작으면 400으로 응답한다")
+    void testCursorInvalidSize() throws Exception {
+        // given
+        postRepository.saveAndFlush(Post.builder().title("크기테스트").writer("작성자").build());
+
+        // then
+        mockMvc.perform(get("/api/v1/posts").param("after", "").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/posts").param("after", "").param("size", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/posts").param("after", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
+    @Test
+    @Rollback
+    @DisplayName("ETag가 같으면 게시물 상세 조회는 304로 응답한다")
+    void testDetailNotModified() throws Exception {
+        // given
+        Post saved = postRepository.saveAndFlush(
+                Post.builder()
+                        .title("ETag테스트")
+                        .content("내용")
+                        .writer("작성자")
+                        .build()
+        );
+        String url = "/api/v1/posts/" + saved.getId();
+
+        // when
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("ETag테스트"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // then
+        assertNotNull(etag);
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    @Rollback
+    @DisplayName("If-Match의 ETag가 현재 버전과 다르면 게시물 수정은 412로 거부된다")
+    void testUpdateIfMatch() throws Exception {
+        // given
+        Post saved = postRepository.saveAndFlush(
+                Post.builder()
+                        .title("If-Match테스트")
+                        .content("내용")
+                        .writer("작성자")
+                        .build()
+        );
+        String etag = mockMvc.perform(get("/api/v1/posts/" + saved.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        String body = "{\"postNo\": " + saved.getId() + ", \"content\": \"수정\"}";
+
+        // when
+        String newEtag = mockMvc.perform(patch("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", etag)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("수정"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // then
+        assertNotEquals(etag, newEtag);
+        // 이전 ETag로는 다시 수정할 수 없다.
+        mockMvc.perform(patch("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", etag)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+        // 다른 게시물의 ETag
+        mockMvc.perform(patch("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "\"-1-0\"")
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", newEtag)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,163 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.study.jpa.JpaApplication;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import com.study.jpa.chap05_practice.service.PostService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 플랫폼 스레드 모드와 가상 스레드 모드(spring.threads.virtual.enabled)로 서버를 각각 띄우고
+// 동시 접속 CONCURRENCY개로 GET /api/v1/posts/{id}를 호출해서 초당 처리량을 비교한다.
+// 응답 캐시와 2차 캐시를 끄고 매 요청이 DB를 조회하게 한다. (DB 대기 시간이 있어야 차이가 드러나므로 MySQL에서 실행)
+// Java 21 미만에서는 가상 스레드 설정이 무시되어 두 모드가 모두 플랫폼 스레드로 실행되므로 건너뛴다.
+// 요청을 처리한 스레드를 ThreadProbe로 세어서, 설정한 모드로 실제 실행된 결과만 보고한다.
+// 실행 시간이 길어서 기본 test 태스크에서는 제외된다. -> ./gradlew benchmark
+@Tag("benchmark")
+class PostDetailLoadTest {
+    static final int POSTS = 100;
+    static final int CONCURRENCY = 400; // Tomcat 기본 최대 스레드(200)보다 많은 동시 요청
+    // 먼저 실행하는 플랫폼 스레드 모드가 JIT 컴파일 전 상태로 측정되지 않도록 모드마다 충분히 워밍업한다.
+    static final Duration WARMUP = Duration.ofSeconds(10);
+    static final Duration DURATION = Duration.ofSeconds(20);
+
+    @Test
+    @DisplayName("플랫폼 스레드와 가상 스레드 모드의 게시물 상세 조회 처리량 비교")
+    void compareThroughput() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 이상에서만 동작");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("GET /api/v1/posts/{id} (Java %d, 동시 요청 %d) - 플랫폼 스레드: %.0f req/s (실패 %d), "
+                        + "가상 스레드: %.0f req/s (실패 %d) (x%.2f)%n",
+                Runtime.version().feature(), CONCURRENCY,
+                platform.throughput, platform.failed, virtual.throughput, virtual.failed,
+                virtual.throughput / platform.throughput);
+        assertTrue(platform.throughput > 0);
+        assertTrue(virtual.throughput > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ThreadProbe probe = new ThreadProbe();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JpaApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("threadProbe", probe))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "post.response-cache.max-entries=0",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "post.search.index-dir="
+                )
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<Long> ids = seed(context.getBean(PostService.class), context.getBean(PostRepository.class));
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            load(client, port, ids, WARMUP); // 워밍업 (JIT, 커넥션 풀)
+            Result result = load(client, port, ids, DURATION);
+
+            // 요청이 전부 설정한 종류의 스레드에서 처리되었는지 확인
+            assertTrue(probe.virtual.sum() + probe.platform.sum() > 0);
+            if (virtualThreads) assertEquals(0, probe.platform.sum(), "플랫폼 스레드에서 처리된 요청이 있음");
+            else assertEquals(0, probe.virtual.sum(), "가상 스레드에서 처리된 요청이 있음");
+            return result;
+        }
+    }
+
+    private static List<Long> seed(PostService postService, PostRepository postRepository) throws Exception {
+        for (int i = 1; i <= POSTS; i++) {
+            postService.insert(PostCreateDTO.builder()
+                    .writer("작성자")
+                    .title("부하테스트" + i)
+                    .content("내용" + i)
+                    .hashTags(List.of("부하", "태그" + (i % 10)))
+                    .build());
+        }
+        return postRepository.findFirstIds(PageRequest.of(0, POSTS));
+    }
+
+    // duration 동안 CONCURRENCY개의 클라이언트 스레드가 응답을 받자마자 다음 요청을 보낸다.
+    private static Result load(HttpClient client, int port, List<Long> ids, Duration duration) throws InterruptedException {
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/v1/posts/" + id)).build();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) succeeded.increment();
+                        else failed.increment();
+                    } catch (IOException e) {
+                        failed.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS));
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Result(succeeded.sum() / seconds, failed.sum());
+    }
+
+    // 요청을 처리한 스레드가 가상 스레드인지 세는 필터
+    private static class ThreadProbe extends OncePerRequestFilter {
+        final LongAdder virtual = new LongAdder();
+        final LongAdder platform = new LongAdder();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            (Thread.currentThread().isVirtual() ? virtual : platform).increment();
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static class Result {
+        final double throughput; // 초당 성공 응답 수
+        final long failed;
+
+        Result(double throughput, long failed) {
+            this.throughput = throughput;
+            this.failed = failed;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.service.PostService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 게시물 엔터티 목록에서 해시태그와 태그 이름까지 순회할 때 실행되는 SQL 수의 상한을 확인한다. (N+1 회귀 방지)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class PostBatchFetchTest {
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 1; i <= 40; i++) {
+            postService.insert(PostCreateDTO.builder()
+                    .writer("작성자")
+                    .title("배치조회" + i)
+                    .hashTags(List.of("배치태그" + i, "배치공통"))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // 2차 캐시에 남은 게시물/해시태그가 있으면 SQL 수가 달라지므로 비운다.
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // 게시물 size개를 조회하고 해시태그의 태그 이름까지 모두 읽는 데 실행된 SQL 수
+    private long countStatements(int size) {
+        statistics.clear();
+        Slice<Post> posts = postRepository.findAll(PageRequest.of(0, size, Sort.by("id").descending()));
+        posts.forEach(post -> post.getHashTags().forEach(hashTag -> hashTag.getTag().getName()));
+        long count = statistics.getPrepareStatementCount();
+
+        assertEquals(size, posts.getNumberOfElements());
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        return count;
+    }
+
+    @Test
+    @DisplayName("게시물 수와 관계없이 게시물 + 해시태그 + 태그 순회의 SQL 수는 일정하다")
+    void testPostsWithTags() {
+        // when
+        long small = countStatements(5);
+        long large = countStatements(40);
+
+        // then
+        // 게시물 페이지 + count + 해시태그 배치 조회 + 태그 배치 조회
+        assertTrue(large <= 4, "실행된 SQL 수: " + large);
+        assertEquals(small, large);
+    }
+}
@@ -0,0 +1,52 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.entity.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+    OptimisticRetry retry = new OptimisticRetry(3, 1, 5);
+
+    @Test
+    @DisplayName("충돌이 나면 다시 실행하고, 성공한 결과를 반환한다")
+    void testRetryUntilSuccess() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) throw new ObjectOptimisticLockingFailureException(Post.class, 1L);
+            return "성공";
+        });
+
+        // then
+        assertEquals("성공", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("최대 횟수를 넘기면 마지막 충돌 예외를 던지고, 다른 예외는 재시도하지 않는다")
+    void testGiveUp() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when, then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Post.class, 1L);
+        }));
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        assertThrows(IllegalArgumentException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException();
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
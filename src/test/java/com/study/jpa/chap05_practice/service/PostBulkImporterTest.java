@@ -0,0 +1,112 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostImportResultDTO;
+import com.study.jpa.chap05_practice.dto.PostSummary;
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.repository.HashTagRepository;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk마다 커밋되므로 테스트에 @Transactional을 붙이지 않고, 등록한 게시물은 테스트 후 삭제한다.
+@SpringBootTest(properties = "post.import.chunk-size=3")
+class PostBulkImporterTest {
+    @Autowired
+    PostBulkImporter bulkImporter;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    HashTagRepository hashTagRepository;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    Long lastPostNo;
+
+    @BeforeEach
+    void setUp() {
+        lastPostNo = postRepository.findSummariesAfterId(0L, PageRequest.of(0, Integer.MAX_VALUE)).stream()
+                .map(PostSummary::getId)
+                .reduce(0L, Math::max);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imported().forEach(post -> postService.deletePost(post.getId()));
+    }
+
+    private List<PostSummary> imported() {
+        return postRepository.findSummariesAfterId(lastPostNo, PageRequest.of(0, 100));
+    }
+
+    private PostImportResultDTO importPosts(String body) throws Exception {
+        return bulkImporter.importPosts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("NDJSON 본문을 chunk 단위로 저장하고 실패한 항목은 원인과 함께 건너뛴다")
+    void testImportNdjson() throws Exception {
+        // given
+        String body = String.join("\n",
+                "{\"writer\": \"작성자\", \"title\": \"일괄1\", \"hashTags\": [\"#일괄태그\", \"일괄태그\"]}",
+                "{\"writer\": \"작성자\", \"title\": \"일괄2\", \"hashTags\": [\"일괄태그\"]}",
+                "{\"writer\": \"작성자\", \"title\": \" \"}", // 검증 실패
+                "{\"writer\": \"작성자\", \"title\": {\"잘못된\": \"형식\"}}", // 타입 불일치
+                "{\"writer\": \"작성자\", \"title\": \"일괄3\", \"content\": \"내용\"}",
+                "{\"writer\": \"작성자\", \"title\": \"일괄4\", \"hashTags\": [\"일괄태그\", \"일괄태그2\"]}",
+                "{\"writer\": \"작성자\", \"title\": \"일괄5\"}"
+        );
+
+        // when
+        PostImportResultDTO result = importPosts(body);
+
+        // then
+        assertEquals(5, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2, 3), result.getFailures().stream()
+                .map(PostImportResultDTO.Failure::getIndex).collect(Collectors.toList()));
+        assertTrue(result.getFailures().get(0).getReason().startsWith("title"));
+
+        assertEquals(List.of("일괄1", "일괄2", "일괄3", "일괄4", "일괄5"),
+                imported().stream().map(PostSummary::getTitle).collect(Collectors.toList()));
+        // 같은 게시물에 같은 태그는 한 번만 연결되고, 사용 횟수는 chunk를 넘어서도 합산된다.
+        Tag tag = tagRepository.findByName("일괄태그").orElseThrow();
+        assertEquals(3, tag.getUsageCount());
+        assertEquals(3, hashTagRepository.findPostNosByTagId(tag.getId(), PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    @DisplayName("JSON 배열 본문도 읽고, 문법이 깨진 위치에서 중단한다")
+    void testImportArray() throws Exception {
+        // given
+        String body = "[{\"writer\": \"작성자\", \"title\": \"배열1\"}, {\"writer\": \"작성자\", \"title\": \"배열2\"},"
+                + " {\"writer\": \"작성자\", \"title\": ";
+
+        // when
+        PostImportResultDTO result = importPosts(body);
+
+        // then
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getIndex());
+        assertEquals(2, imported().size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PostExporterTest {
+    @Autowired
+    PostExporter exporter;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    long total;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            postService.insert(PostCreateDTO.builder()
+                    .writer("작성자")
+                    .title("내보내기" + i)
+                    .content("첫 줄, \"인용\"\n둘째 줄")
+                    .hashTags(List.of("내보내기태그", "태그" + i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        total = entityManager.createQuery("SELECT COUNT(p) FROM Post p", Long.class).getSingleResult();
+    }
+
+    private String export(PostExporter.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(total, exporter.export(out, format));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON으로 게시물마다 한 줄씩 해시태그와 함께 내보내고, 영속성 컨텍스트에 남기지 않는다")
+    void testExportNdjson() throws Exception {
+        // when
+        String[] lines = export(PostExporter.Format.NDJSON).split("\n");
+
+        // then
+        assertEquals(total, lines.length); // 해시태그 fetch join으로 게시물이 중복되지 않는다.
+        List<JsonNode> exported = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("title").asText().startsWith("내보내기")) exported.add(node);
+        }
+        assertEquals(5, exported.size());
+        JsonNode last = exported.get(4);
+        assertEquals("내보내기5", last.get("title").asText());
+        assertEquals("첫 줄, \"인용\"\n둘째 줄", last.get("content").asText());
+        assertEquals(2, last.get("hashTags").size());
+
+        // 다 쓴 게시물은 분리되었으므로 영속성 컨텍스트가 비어 있다.
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("CSV는 쉼표, 따옴표, 줄바꿈이 있는 값을 큰따옴표로 감싼다")
+    void testExportCsv() throws Exception {
+        // when
+        String csv = export(PostExporter.Format.CSV);
+
+        // then
+        assertTrue(csv.startsWith("\uFEFFpostNo,writer,title,content,hashTags,"));
+        assertTrue(csv.contains(",작성자,내보내기3,\"첫 줄, \"\"인용\"\"\n둘째 줄\",내보내기태그 태그3,"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostListResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostModifyDTO;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 검색 색인은 커밋 이후에 갱신되므로 테스트에 @Transactional을 붙이지 않는다.
+@SpringBootTest
+class PostSearchTest {
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostSearchIndexer searchIndexer;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PostSearchIndex searchIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Long> postNos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        insert("코끼리 기린", "동물원 구경");
+        insert("동물원 산책", "코끼리와 기린 사진");
+        insert("오늘의 일기", "날씨가 맑았다");
+    }
+
+    private void insert(String title, String content) throws Exception {
+        postService.insert(PostCreateDTO.builder()
+                .writer("작성자")
+                .title(title)
+                .content(content)
+                .build());
+        postNos.add(postRepository.findFirstIds(PageRequest.of(0, 1)).get(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        postNos.forEach(postService::deletePost);
+    }
+
+    // 검색된 게시물 제목 목록
+    private List<String> search(String keyword) throws Exception {
+        PostListResponseDTO result = postService.search(keyword, new PageDTO(1, 10));
+        return result.getPosts().stream().map(PostDetailResponseDTO::getTitle).toList();
+    }
+
+    @Test
+    @DisplayName("제목에서 일치한 게시물이 내용에서 일치한 게시물보다 앞에 온다.")
+    void testSearchRanking() throws Exception {
+        //when
+        List<String> found = search("코끼리 기린");
+
+        //then
+        assertEquals(List.of("코끼리 기린", "동물원 산책"), found);
+    }
+
+    @Test
+    @DisplayName("수정/삭제가 커밋되면 검색 결과에 반영된다.")
+    void testIndexSync() throws Exception {
+        //when
+        postService.modify(PostModifyDTO.builder()
+                .postNo(postNos.get(2))
+                .title("오늘의 일기")
+                .content("코끼리를 보았다")
+                .build());
+        postService.deletePost(postNos.get(0));
+
+        //then
+        assertEquals(Set.of("동물원 산책", "오늘의 일기"), new HashSet<>(search("코끼리")));
+    }
+
+    @Test
+    @DisplayName("전체 재색인 후에도 같은 결과가 검색된다.")
+    void testRebuild() throws Exception {
+        //when
+        long indexed = searchIndexer.rebuild();
+
+        //then
+        assertTrue(indexed >= postNos.size());
+        assertEquals(List.of("오늘의 일기"), search("날씨"));
+    }
+
+    @Test
+    @DisplayName("재색인은 DB에서 직접 지운 게시물을 색인에서 지우고, 끝나기 전에는 검색 결과가 바뀌지 않는다.")
+    void testRebuildRemovesStaleDocuments() throws Exception {
+        // given
+        // 이벤트 없이 DB에서 직접 삭제 (색인에는 남아 있음)
+        Long deleted = postNos.get(2);
+        jdbcTemplate.update("DELETE FROM tbl_post WHERE post_no = ?", deleted);
+        assertEquals(List.of(deleted), searchIndex.search("날씨", 1, 10).getPostNos());
+
+        // when
+        // 재색인 도중(세대 교체 전)에는 이전 색인으로 검색된다.
+        searchIndex.beginRebuild();
+        searchIndex.indexAll(postRepository.findSummariesByIdIn(postNos.subList(0, 2)));
+        assertEquals(List.of("코끼리 기린", "동물원 산책"), search("코끼리 기린"));
+        searchIndex.finishRebuild(false);
+        searchIndexer.rebuild();
+
+        // then
+        assertEquals(List.of(), searchIndex.search("날씨", 1, 10).getPostNos());
+        assertEquals(List.of("코끼리 기린", "동물원 산책"), search("코끼리 기린"));
+    }
+
+    @Test
+    @DisplayName("재색인 중에 수정/삭제된 게시물도 최종 색인에 올바르게 반영된다.")
+    void testRebuildWithConcurrentChanges() throws Exception {
+        // given
+        int count = 40;
+        for (int i = 0; i < count; i++) insert("동시재색인 " + i, "사과");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // when
+            Future<Long> rebuild = executor.submit(searchIndexer::rebuild);
+            for (int i = 0; i < count; i++) {
+                Long postNo = postNos.get(3 + i);
+                if (i % 2 == 0) {
+                    postService.deletePost(postNo);
+                } else {
+                    postService.modify(PostModifyDTO.builder().postNo(postNo).content("바나나").build(), true, false);
+                }
+            }
+            rebuild.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        // 삭제된 게시물이 되살아나거나 중복 색인되지 않았는지 DB 조회 없이 색인만 확인
+        assertEquals(count / 2, searchIndex.search("동시재색인", 1, 100).getTotalHits());
+        assertEquals(0, searchIndex.search("사과", 1, 100).getTotalHits());
+        assertEquals(count / 2, searchIndex.search("바나나", 1, 100).getTotalHits());
+    }
+}
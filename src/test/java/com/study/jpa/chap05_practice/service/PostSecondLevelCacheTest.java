@@ -0,0 +1,186 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostModifyDTO;
+import com.study.jpa.chap05_practice.entity.HashTag;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 2차 캐시는 트랜잭션이 커밋된 데이터만 공유하므로 테스트에 @Transactional을 붙이지 않는다.
+// (서비스 메서드 하나하나가 각각 트랜잭션으로 커밋됨)
+@SpringBootTest
+class PostSecondLevelCacheTest {
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+    Long postNo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        postService.insert(
+                PostCreateDTO.builder()
+                        .writer("작성자")
+                        .title("캐시테스트")
+                        .content("내용")
+                        .hashTags(List.of("캐시", "테스트"))
+                        .build()
+        );
+        postNo = postRepository.findFirstIds(PageRequest.of(0, 1)).get(0);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postService.deletePost(postNo);
+    }
+
+    @Test
+    @DisplayName("두 번째 상세 조회부터는 DB를 조회하지 않는다")
+    void testDetailFromCache() throws Exception {
+        // given
+        postService.getDetail(postNo); // 캐시에 없으면 DB에서 읽어서 캐시에 저장
+        statistics.clear();
+
+        // when
+        PostDetailResponseDTO dto = postService.getDetail(postNo);
+
+        // then
+        assertEquals("캐시테스트", dto.getTitle());
+        assertEquals(List.of("캐시", "테스트"), dto.getHashTags());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("수정하면 캐시된 게시물도 변경된 내용으로 조회된다")
+    void testEvictOnModify() throws Exception {
+        // given
+        postService.getDetail(postNo);
+
+        // when
+        postService.modify(PostModifyDTO.builder()
+                .postNo(postNo)
+                .title("수정된제목")
+                .content("수정된내용")
+                .build());
+
+        // then
+        assertEquals("수정된제목", postService.getDetail(postNo).getTitle());
+    }
+
+    @Test
+    @DisplayName("수정은 tbl_post만 무효화하고 해시태그 캐시는 그대로 둔다")
+    void testModifyKeepsHashTagCache() throws Exception {
+        // given
+        Long otherNo = insertOtherPost();
+        postService.getDetail(postNo);
+        postService.getDetail(otherNo);
+        List<Long> hashTagIds = findHashTagIds(postNo);
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(hashTagIds.isEmpty());
+        hashTagIds.forEach(id -> assertTrue(cache.contains(HashTag.class, id)));
+        assertTrue(cache.contains(Post.class, otherNo));
+
+        try {
+            // when
+            postService.modify(PostModifyDTO.builder()
+                    .postNo(postNo)
+                    .title("수정된제목")
+                    .build(), true, false);
+
+            // then
+            assertFalse(cache.contains(Post.class, postNo));
+            hashTagIds.forEach(id -> assertTrue(cache.contains(HashTag.class, id)));
+            assertTrue(cache.contains(Post.class, otherNo)); // 다른 게시물 캐시는 그대로
+        } finally {
+            postService.deletePost(otherNo);
+        }
+    }
+
+    @Test
+    @DisplayName("삭제하면 그 게시물과 해시태그만 캐시에서 제거되고 다른 게시물 캐시는 남는다")
+    void testDeleteEvictsOnlyDeletedPost() throws Exception {
+        // given
+        Long otherNo = insertOtherPost();
+        postService.getDetail(postNo);
+        postService.getDetail(otherNo);
+        List<Long> hashTagIds = findHashTagIds(postNo);
+        List<Long> otherHashTagIds = findHashTagIds(otherNo);
+        Cache cache = entityManagerFactory.getCache();
+        statistics.clear();
+
+        try {
+            // when
+            assertTrue(postService.deletePost(postNo));
+
+            // then
+            // 엔터티를 조회하지 않는다: 태그 사용 횟수 UPDATE + 해시태그 번호 SELECT + DELETE 2개
+            assertEquals(4, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertFalse(cache.contains(Post.class, postNo));
+            hashTagIds.forEach(id -> assertFalse(cache.contains(HashTag.class, id)));
+            hashTagIds.forEach(id -> assertNull(findHashTag(id)));
+            assertTrue(cache.contains(Post.class, otherNo));
+            otherHashTagIds.forEach(id -> assertTrue(cache.contains(HashTag.class, id)));
+        } finally {
+            postService.deletePost(otherNo);
+        }
+    }
+
+    // 캐시 범위 확인용으로 남겨 둘 다른 게시물
+    private Long insertOtherPost() throws Exception {
+        postService.insert(
+                PostCreateDTO.builder()
+                        .writer("작성자")
+                        .title("남는게시물")
+                        .hashTags(List.of("캐시"))
+                        .build()
+        );
+        return postRepository.findFirstIds(PageRequest.of(0, 1)).get(0);
+    }
+
+    private HashTag findHashTag(Long id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(HashTag.class, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private List<Long> findHashTagIds(Long postNo) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(
+                            "SELECT h.id FROM HashTag h WHERE h.post.id = :postNo", Long.class)
+                    .setParameter("postNo", postNo)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostListResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostModifyDTO;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 쿼리 실행 횟수를 세기 위해 Hibernate 통계 기능을 켠다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class PostServiceTest {
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    SqlExecutionCounter sqlCounter;
+
+    Statistics statistics;
+
+    // DB로 실제 전송된 SQL 실행 횟수를 센다. (배치 INSERT는 executeBatch 한 번)
+    // 시퀀스 번호 할당(50개마다 한 번)은 앞서 등록된 데이터에 따라 실행 여부가 달라지므로 제외한다.
+    // (P6Spy가 JdbcEventListener 빈을 DataSource 이벤트 리스너로 등록한다)
+    static class SqlExecutionCounter extends SimpleJdbcEventListener {
+        private volatile Thread target;
+        private long count;
+
+        void start() {
+            count = 0;
+            target = Thread.currentThread();
+        }
+
+        long stop() {
+            target = null;
+            return count;
+        }
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation info, long timeElapsedNanos, SQLException e) {
+            if (Thread.currentThread() != target) return;
+            if (info.getSql().toLowerCase(Locale.ROOT).contains("_seq")) return;
+            count++;
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCounterConfig {
+        @Bean
+        SqlExecutionCounter sqlExecutionCounter() {
+            return new SqlExecutionCounter();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 1; i <= 60; i++) {
+            postService.insert(
+                    PostCreateDTO.builder()
+                            .writer("작성자")
+                            .title("목록테스트" + i)
+                            .content("내용" + i)
+                            .hashTags(List.of("태그A" + i, "태그B" + i, "태그C" + i))
+                            .build()
+            );
+        }
+        // 영속성 컨텍스트를 비워야 목록 조회 시 실제로 DB에서 읽어온다.
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // 페이지 하나를 조회하는 데 실행된 SQL 수
+    private long countStatements(int size) {
+        statistics.clear();
+        PostListResponseDTO dto = postService.getPosts(new PageDTO(1, size));
+        long count = statistics.getPrepareStatementCount();
+
+        assertEquals(size, dto.getPosts().size());
+        dto.getPosts().forEach(post -> assertEquals(3, post.getHashTags().size()));
+        // 프로젝션 조회이므로 영속성 컨텍스트에 게시물 엔터티가 올라가지 않는다.
+        assertEquals(0, statistics.getEntityLoadCount());
+        entityManager.clear();
+        return count;
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 커져도 목록 조회 쿼리 수는 일정해야 한다")
+    void testGetPostsStatementCount() {
+        // given
+        int smallPage = 5;
+        int largePage = 50;
+
+        // when
+        long small = countStatements(smallPage);
+        long large = countStatements(largePage);
+
+        // then
+        System.out.println("\n\n\n");
+        System.out.println("small = " + small + ", large = " + large);
+        System.out.println("\n\n\n");
+        assertTrue(small <= 3); // 번호 조회 + 게시물 프로젝션 조회 + 태그 id 조회 (count 쿼리 없음)
+        assertEquals(small, large);
+    }
+
+    @Test
+    @DisplayName("커서 모드는 중복 없이 이어서 조회하고 count 쿼리를 실행하지 않는다")
+    void testGetPostsAfter() {
+        // given
+        int size = 20;
+        List<String> titles = new ArrayList<>();
+        String cursor = "";
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            statistics.clear();
+            PostListResponseDTO dto = postService.getPostsAfter(cursor, size);
+            // 번호 조회 + 게시물 프로젝션 조회 + 태그 id 조회
+            assertTrue(statistics.getPrepareStatementCount() <= 3);
+            assertNull(dto.getPageInfo());
+
+            dto.getPosts().forEach(post -> titles.add(post.getTitle()));
+            cursor = dto.getNextCursor();
+            entityManager.clear();
+        }
+
+        // then
+        assertEquals(60, titles.size());
+        assertEquals(60, new HashSet<>(titles).size());
+        assertEquals("목록테스트60", titles.get(0));
+    }
+
+    @Test
+    @DisplayName("목록 크기가 1보다 작거나 최대값보다 크면 조회하지 않고 거부한다")
+    void testInvalidSize() {
+        for (int size : new int[]{0, -1, PostService.MAX_PAGE_SIZE + 1}) {
+            assertThrows(IllegalArgumentException.class, () -> postService.getPostsAfter("", size));
+            assertThrows(IllegalArgumentException.class, () -> postService.getPostsByTag("태그A1", null, size));
+            assertThrows(IllegalArgumentException.class, () -> postService.getPosts(new PageDTO(1, size)));
+        }
+        assertEquals(1, postService.getPostsAfter("", 1).getCount());
+    }
+
+    // 게시물 하나를 등록하는 데 실행된 SQL 수
+    private long countInsertStatements(int tagCount) throws Exception {
+        List<String> tags = new ArrayList<>();
+        // 모두 새 태그 (새 태그는 게시물과 별도로 커밋되어 롤백 후에도 남으므로 실행마다 다른 이름 사용)
+        long run = System.nanoTime();
+        for (int i = 1; i <= tagCount; i++) tags.add("등록태그" + run + "-" + i);
+
+        statistics.clear();
+        sqlCounter.start();
+        postService.insert(
+                PostCreateDTO.builder()
+                        .writer("작성자")
+                        .title("등록테스트")
+                        .hashTags(tags)
+                        .build()
+        );
+        entityManager.flush();
+        long count = sqlCounter.stop();
+
+        // 게시물 1 + 태그 사전 tagCount + 게시물-태그 연결 tagCount
+        assertEquals(1 + tagCount * 2L, statistics.getEntityInsertCount());
+        return count;
+    }
+
+    @Test
+    @DisplayName("해시태그 수와 관계없이 게시물 등록 쿼리 수는 일정해야 한다")
+    void testInsertStatementCount() throws Exception {
+        // when
+        long one = countInsertStatements(1);
+        long many = countInsertStatements(20);
+
+        // then
+        System.out.println("\n\n\n");
+        System.out.println("one = " + one + ", many = " + many);
+        System.out.println("\n\n\n");
+        // 게시물 INSERT + 태그 사전 조회 + 태그 사전 배치 INSERT + 해시태그 배치 INSERT + 사용 횟수 UPDATE
+        assertEquals(5, one);
+        assertEquals(one, many);
+    }
+
+    @Test
+    @DisplayName("해시태그로 게시물을 커서 모드로 조회한다")
+    void testGetPostsByTag() throws Exception {
+        // given
+        for (int i = 1; i <= 25; i++) {
+            postService.insert(
+                    PostCreateDTO.builder()
+                            .writer("작성자")
+                            .title("태그조회" + i)
+                            .hashTags(List.of("인기태그", "기타" + i))
+                            .build()
+            );
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+
+        // when
+        do {
+            // 태그 이름은 정규화되므로 "#인기태그 "로도 조회된다.
+            PostListResponseDTO dto = postService.getPostsByTag("#인기태그 ", cursor, 10);
+            dto.getPosts().forEach(post -> {
+                assertTrue(post.getHashTags().contains("인기태그"));
+                titles.add(post.getTitle());
+            });
+            cursor = dto.getNextCursor();
+            entityManager.clear();
+        } while (cursor != null);
+
+        // then
+        assertEquals(25, titles.size());
+        assertEquals("태그조회25", titles.get(0));
+        assertEquals(0, postService.getPostsByTag("없는태그", null, 10).getCount());
+    }
+
+    @Test
+    @DisplayName("해시태그 수와 관계없이 게시물 삭제는 엔터티 조회 없이 SQL 4개로 처리된다")
+    void testDeleteStatementCount() throws Exception {
+        // given
+        List<String> tags = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) tags.add("삭제태그" + i);
+        postService.insert(
+                PostCreateDTO.builder()
+                        .writer("작성자")
+                        .title("삭제테스트")
+                        .hashTags(tags)
+                        .build()
+        );
+        entityManager.flush();
+        entityManager.clear();
+        Long postNo = entityManager.createQuery("SELECT MAX(p.id) FROM Post p", Long.class).getSingleResult();
+        statistics.clear();
+
+        // when
+        boolean deleted = postService.deletePost(postNo);
+
+        // then
+        assertTrue(deleted);
+        // 태그 사용 횟수 UPDATE + 해시태그 번호 SELECT + 해시태그 DELETE + 게시물 DELETE
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(postService.deletePost(postNo)); // 이미 삭제된 게시물
+    }
+
+    @Test
+    @DisplayName("게시물 수정은 조회 없이 UPDATE 후 응답용 컬럼만 다시 읽고, 버전이 다르면 실패한다")
+    void testModifyWithoutLoading() {
+        // given
+        Long postNo = entityManager.createQuery("SELECT MAX(p.id) FROM Post p", Long.class).getSingleResult();
+        statistics.clear();
+
+        // when
+        // PATCH: 내용만 변경, 응답에 해시태그 제외
+        PostDetailResponseDTO dto = postService.modify(
+                PostModifyDTO.builder().postNo(postNo).content("부분수정").version(0L).build(),
+                true, false);
+
+        // then
+        // UPDATE + 응답용 프로젝션 조회
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("목록테스트60", dto.getTitle()); // 보내지 않은 제목은 그대로
+        assertEquals("부분수정", dto.getContent());
+        assertNull(dto.getHashTags());
+
+        // 이미 버전이 1로 올라갔으므로 버전 0으로는 수정할 수 없다.
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> postService.modify(
+                PostModifyDTO.builder().postNo(postNo).title("충돌").version(0L).build(), true, true));
+        assertThrows(EntityNotFoundException.class, () -> postService.modify(
+                PostModifyDTO.builder().postNo(-1L).title("없는글").build(), false, true));
+    }
+}
@@ -0,0 +1,85 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostSummary;
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 스레드가 각자 커밋해야 하므로 테스트에 @Transactional을 붙이지 않고, 등록한 게시물은 테스트 후 삭제한다.
+@SpringBootTest
+class TagDictionaryTest {
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    Long lastPostNo;
+
+    @BeforeEach
+    void setUp() {
+        lastPostNo = postRepository.findSummariesAfterId(0L, PageRequest.of(0, Integer.MAX_VALUE)).stream()
+                .map(PostSummary::getId)
+                .reduce(0L, Math::max);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.findSummariesAfterId(lastPostNo, PageRequest.of(0, 100))
+                .forEach(post -> postService.deletePost(post.getId()));
+    }
+
+    @Test
+    @DisplayName("같은 새 태그로 두 스레드가 동시에 게시물을 등록해도 둘 다 성공하고 태그는 하나만 등록된다")
+    void testConcurrentNewTag() throws Exception {
+        int rounds = 10;
+        int threads = 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                String tagName = "동시태그" + System.nanoTime();
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+
+                // when
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    int no = i;
+                    results.add(executor.submit(() -> {
+                        barrier.await(); // 두 스레드가 같은 시점에 등록을 시작하도록
+                        return postService.insert(PostCreateDTO.builder()
+                                .writer("작성자")
+                                .title("동시등록" + no)
+                                .hashTags(List.of(tagName, "#" + tagName.toUpperCase()))
+                                .build());
+                    }));
+                }
+
+                // then
+                for (Future<?> result : results) {
+                    result.get(30, TimeUnit.SECONDS); // 실패했으면 ExecutionException
+                }
+                Tag tag = tagRepository.findByName(tagName).orElseThrow();
+                assertEquals(threads, tag.getUsageCount());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
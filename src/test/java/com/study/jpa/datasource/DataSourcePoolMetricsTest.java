@@ -0,0 +1,38 @@
+package com.study.jpa.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DataSourcePoolMetricsTest {
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("커넥션 풀 상태와 커넥션 획득 시간이 Micrometer 지표로 기록된다")
+    void testPoolMetrics() {
+        // when
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        // then
+        for (String name : new String[]{"active", "idle", "pending", "max"}) {
+            assertNotNull(meterRegistry.find("hikaricp.connections." + name).tag("pool", "primary-pool").gauge(),
+                    "hikaricp.connections." + name);
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "primary-pool").timer();
+        assertNotNull(acquire);
+        assertTrue(acquire.count() > 0);
+        assertEquals(0, meterRegistry.get("hikaricp.connections.pending").tag("pool", "primary-pool")
+                .gauge().value());
+    }
+}
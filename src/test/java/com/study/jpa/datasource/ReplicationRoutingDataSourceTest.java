@@ -0,0 +1,84 @@
+package com.study.jpa.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationRoutingDataSourceTest {
+
+    DataSource primary;
+    DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        // 두 개의 H2 인메모리 DB를 primary, replica로 사용
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    private DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentNode(ReplicaLagMonitor monitor, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primary, replica, monitor));
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica, 쓰기 트랜잭션은 primary에서 실행된다.")
+    void testRouting() {
+        //given
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "", 5);
+        monitor.check();
+
+        //then
+        assertEquals("replica", currentNode(monitor, true));
+        assertEquals("primary", currentNode(monitor, false));
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 readOnly 트랜잭션도 primary에서 실행된다.")
+    void testFallbackOnLag() {
+        //given
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 30 AS Seconds_Behind_Source", 5);
+
+        //when
+        monitor.check();
+
+        //then
+        assertFalse(monitor.isReplicaAvailable());
+        assertEquals("primary", currentNode(monitor, true));
+    }
+
+    @Test
+    @DisplayName("복제 지연 확인 쿼리가 실패하면 primary에서 읽는다.")
+    void testFallbackOnError() {
+        //given
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT * FROM no_such_table", 5);
+
+        //when
+        monitor.check();
+
+        //then
+        assertEquals("primary", currentNode(monitor, true));
+    }
+}